@@ -1,13 +1,21 @@
 package com.skyapi.weatherforecast.common;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "locations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location")
+@Table(name = "locations", indexes = {
+        @Index(name = "idx_locations_country_city", columnList = "country_code, city_name, trashed"),
+        @Index(name = "idx_locations_trashed_enabled_country", columnList = "trashed, enabled, country_code"),
+        @Index(name = "idx_locations_trashed_region", columnList = "trashed, region_name")
+})
 public class Location {
 
     @Id
@@ -34,9 +42,11 @@ public class Location {
     private RealtimeWeather realtimeWeather;
 
     @OneToMany(mappedBy = "id.location", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location.listHourlyWeather")
     private List<HourlyWeather> listHourlyWeather = new ArrayList<>();
 
     @OneToMany(mappedBy = "id.location", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location.listDailyWeather")
     private List<DailyWeather> listDailyWeather = new ArrayList<>();
 
     public Location() {}
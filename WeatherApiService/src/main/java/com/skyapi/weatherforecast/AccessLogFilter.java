@@ -0,0 +1,115 @@
+package com.skyapi.weatherforecast;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Hands one entry per request to an AccessLogWriter, which logs it off the
+ * request thread. For async requests the entry is recorded when the async
+ * processing completes, so that status and duration are final. A request that
+ * fails with an exception is recorded as a 500, the status the container sends.
+ */
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+    private final AccessLogWriter writer;
+    private final boolean enabled;
+
+    public AccessLogFilter(@Value("${access-log.enabled:true}") boolean enabled,
+                           @Value("${access-log.buffer-size:8192}") int bufferSize,
+                           @Value("${access-log.sample-rate:1.0}") double sampleRate,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.writer = new AccessLogWriter(bufferSize, sampleRate);
+
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("access.log.queue.size", writer, AccessLogWriter::getQueueSize)
+                    .register(registry);
+            FunctionCounter.builder("access.log.dropped", writer, AccessLogWriter::getDroppedCount)
+                    .description("Access log entries dropped because the buffer was full")
+                    .register(registry);
+            FunctionCounter.builder("access.log.sampled.out", writer, AccessLogWriter::getSampledOutCount)
+                    .register(registry);
+        });
+
+        if (enabled) {
+            writer.start();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long startTime = System.nanoTime();
+
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException | Error ex) {
+            // the container turns the exception into the final status after this filter returns
+            int status = response.isCommitted() ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            record(request, status, startTime);
+            throw ex;
+        }
+
+        if (isAsyncStarted(request)) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    record(request, response.getStatus(), startTime);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            record(request, response.getStatus(), startTime);
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long startTime) {
+        if (writer.isSampled(status)) {
+            long durationMicros = (System.nanoTime() - startTime) / 1_000;
+            writer.offer(new AccessLogWriter.Entry(request.getMethod(), request.getRequestURI(),
+                    status, durationMicros, CommonUtility.getIPAddress(request)));
+        }
+    }
+
+    public AccessLogWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            writer.stop();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
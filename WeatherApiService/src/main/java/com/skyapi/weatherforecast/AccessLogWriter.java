@@ -0,0 +1,150 @@
+package com.skyapi.weatherforecast;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes access log lines on a background thread. Request threads only offer an
+ * entry to a bounded queue; if the queue is full the entry is dropped and
+ * counted instead of blocking the request. Responses below 400 are sampled at
+ * the given rate, client and server errors are always kept.
+ */
+public class AccessLogWriter {
+    private static final Logger ACCESS_LOGGER = LoggerFactory.getLogger("ACCESS_LOG");
+
+    private final BlockingQueue<Entry> queue;
+    private final double sampleRate;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong sampledOutCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private volatile Thread writerThread;
+
+    public AccessLogWriter(int bufferSize, double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Queues the entry unless it is sampled out or the buffer is full. Never blocks.
+     */
+    public boolean log(Entry entry) {
+        return isSampled(entry.status()) && offer(entry);
+    }
+
+    /**
+     * Decides whether a response with the given status is logged, counting it
+     * if not. Lets callers skip building the entry for sampled-out requests.
+     */
+    public boolean isSampled(int status) {
+        if (status < 400 && sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOutCount.incrementAndGet();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Queues an entry that has already been sampled in, unless the buffer is full.
+     */
+    public boolean offer(Entry entry) {
+        if (!queue.offer(entry)) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+
+        return true;
+    }
+
+    public synchronized void start() {
+        if (writerThread != null) {
+            return;
+        }
+
+        writerThread = new Thread(this::run, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stops the writer thread and writes whatever is still queued.
+     */
+    public synchronized void stop() throws InterruptedException {
+        Thread thread = writerThread;
+        writerThread = null;
+
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        drain();
+    }
+
+    /**
+     * Writes all queued entries on the calling thread and returns how many there were.
+     */
+    int drain() {
+        int count = 0;
+        Entry entry;
+
+        while ((entry = queue.poll()) != null) {
+            write(entry);
+            count++;
+        }
+
+        return count;
+    }
+
+    private void run() {
+        while (writerThread == Thread.currentThread()) {
+            try {
+                Entry entry = queue.poll(1, TimeUnit.SECONDS);
+
+                if (entry != null) {
+                    write(entry);
+                }
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private void write(Entry entry) {
+        writtenCount.incrementAndGet();
+
+        if (ACCESS_LOGGER.isInfoEnabled()) {
+            ACCESS_LOGGER.info("method={} uri={} status={} duration_us={} client={}",
+                    entry.method(), entry.uri(), entry.status(), entry.durationMicros(), entry.clientIp());
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public record Entry(String method, String uri, int status, long durationMicros, String clientIp) {
+    }
+}
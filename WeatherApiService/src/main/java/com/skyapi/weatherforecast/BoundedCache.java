@@ -0,0 +1,146 @@
+package com.skyapi.weatherforecast;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe cache with an upper bound on the number of entries and an
+ * optional time-to-live. A TTL of zero or less keeps entries until they are
+ * pushed out by size or evicted explicitly.
+ * <p>
+ * Reads do not lock: an entry only records when it was last read. Eviction is
+ * approximately LRU. When a put takes the cache over its size, one thread drops
+ * the least recently read entries, about a tenth of the bound at a time, while
+ * other puts carry on.
+ */
+public class BoundedCache<K, V> {
+    private final int maxSize;
+    private final int trimmedSize;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock trimLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+
+        this.maxSize = maxSize;
+        this.trimmedSize = maxSize - maxSize / 10;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        long now = System.nanoTime();
+
+        if (ttlNanos > 0 && now - entry.createdAt > ttlNanos) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        entry.accessedAt = now;
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+
+        if (entries.size() > maxSize && trimLock.tryLock()) {
+            try {
+                trim();
+            } finally {
+                trimLock.unlock();
+            }
+        }
+    }
+
+    private void trim() {
+        int excess = entries.size() - trimmedSize;
+
+        if (excess <= 0) {
+            return;
+        }
+
+        // access times keep changing under concurrent reads, so sort on a snapshot of them
+        List<Candidate<K, V>> candidates = new ArrayList<>(entries.size());
+        entries.forEach((key, entry) -> candidates.add(new Candidate<>(key, entry, entry.accessedAt)));
+        candidates.sort(Comparator.comparingLong(Candidate::accessedAt));
+
+        for (int i = 0; i < excess && i < candidates.size(); i++) {
+            Candidate<K, V> candidate = candidates.get(i);
+
+            if (entries.remove(candidate.key(), candidate.entry())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public void evict(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+    }
+
+    private record Candidate<K, V>(K key, Entry<V> entry, long accessedAt) {
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+        private volatile long accessedAt;
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+            this.accessedAt = createdAt;
+        }
+    }
+}
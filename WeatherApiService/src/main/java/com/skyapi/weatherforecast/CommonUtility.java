@@ -3,6 +3,9 @@ package com.skyapi.weatherforecast;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
 
 public class CommonUtility {
     private static Logger LOGGER = LoggerFactory.getLogger(CommonUtility.class);
@@ -14,8 +17,22 @@ public class CommonUtility {
             ip = request.getRemoteAddr();
         }
 
-        LOGGER.info("Client's IP Address: " + ip);
+        LOGGER.debug("Client's IP Address: {}", ip);
 
         return ip;
     }
+
+    /**
+     * Checks the conditional headers of the current request against the given
+     * validators and sets ETag and Last-Modified on the response. Returns true if
+     * the status has been set to 304, in which case the handler should return null.
+     * If-None-Match is compared weakly, so W/"x" and "x" both match either form.
+     * Pass a negative lastModified if there is none.
+     */
+    public static boolean checkNotModified(String eTag, long lastModified) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        ServletWebRequest webRequest = new ServletWebRequest(attributes.getRequest(), attributes.getResponse());
+
+        return webRequest.checkNotModified(eTag, lastModified);
+    }
 }
@@ -0,0 +1,104 @@
+package com.skyapi.weatherforecast;
+
+import com.skyapi.weatherforecast.common.DailyWeather;
+import com.skyapi.weatherforecast.common.HourlyWeather;
+import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.common.RealtimeWeather;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * ETags of the weather representations, hashed from the persisted fields they are
+ * rendered from. The same data gives the same tag on every instance and across
+ * restarts, and any change to the rows, however it was written, gives a new one.
+ * The tags are weak because Tomcat does not compress responses with a strong ETag.
+ */
+public final class ContentETags {
+
+    private ContentETags() {
+    }
+
+    public static String realtime(RealtimeWeather realtimeWeather) {
+        StringBuilder values = new StringBuilder("realtime");
+        appendLocation(values, realtimeWeather.getLocation());
+        appendRealtime(values, realtimeWeather);
+
+        return toETag(values);
+    }
+
+    public static String hourly(List<HourlyWeather> hourlyForecast) {
+        StringBuilder values = new StringBuilder("hourly");
+        appendLocation(values, hourlyForecast.isEmpty() ? null : hourlyForecast.get(0).getId().getLocation());
+        appendHourly(values, hourlyForecast);
+
+        return toETag(values);
+    }
+
+    public static String daily(List<DailyWeather> dailyForecast) {
+        StringBuilder values = new StringBuilder("daily");
+        appendLocation(values, dailyForecast.isEmpty() ? null : dailyForecast.get(0).getId().getLocation());
+        appendDaily(values, dailyForecast);
+
+        return toETag(values);
+    }
+
+    public static String full(Location location) {
+        StringBuilder values = new StringBuilder("full");
+        appendLocation(values, location);
+
+        if (location.getRealtimeWeather() != null) {
+            appendRealtime(values, location.getRealtimeWeather());
+        }
+
+        appendHourly(values, location.getListHourlyWeather());
+        appendDaily(values, location.getListDailyWeather());
+
+        return toETag(values);
+    }
+
+    private static void appendLocation(StringBuilder values, Location location) {
+        if (location != null) {
+            append(values, location.getCode());
+            append(values, location.toString());
+        }
+    }
+
+    private static void appendRealtime(StringBuilder values, RealtimeWeather realtimeWeather) {
+        append(values, realtimeWeather.getTemperature());
+        append(values, realtimeWeather.getHumidity());
+        append(values, realtimeWeather.getPrecipitation());
+        append(values, realtimeWeather.getWindSpeed());
+        append(values, realtimeWeather.getStatus());
+        append(values, realtimeWeather.getLastUpdated() != null ? realtimeWeather.getLastUpdated().getTime() : null);
+    }
+
+    private static void appendHourly(StringBuilder values, List<HourlyWeather> hourlyForecast) {
+        for (HourlyWeather hourlyWeather : hourlyForecast) {
+            append(values, hourlyWeather.getId().getHourOfDay());
+            append(values, hourlyWeather.getTemperature());
+            append(values, hourlyWeather.getPrecipitation());
+            append(values, hourlyWeather.getStatus());
+        }
+    }
+
+    private static void appendDaily(StringBuilder values, List<DailyWeather> dailyForecast) {
+        for (DailyWeather dailyWeather : dailyForecast) {
+            append(values, dailyWeather.getId().getDayOfMonth());
+            append(values, dailyWeather.getId().getMonth());
+            append(values, dailyWeather.getMinTemp());
+            append(values, dailyWeather.getMaxTemp());
+            append(values, dailyWeather.getPrecipitation());
+            append(values, dailyWeather.getStatus());
+        }
+    }
+
+    private static void append(StringBuilder values, Object value) {
+        values.append('\u001f').append(value);
+    }
+
+    private static String toETag(StringBuilder values) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(values.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,121 @@
+package com.skyapi.weatherforecast;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Difference between the stored forecast rows of a location and a replacement.
+ * Each row maps to a slot in [0, slotCount) through the given key function;
+ * the forecast type decides the key scheme, this class only does the bookkeeping.
+ * Rows whose values did not change appear in neither list.
+ */
+public final class ForecastDiff<T> {
+    private final ToIntFunction<T> slotKey;
+    private final List<T> inserts = new ArrayList<>();
+    private final List<T> updates = new ArrayList<>();
+    private final List<T> result = new ArrayList<>();
+    private final BitSet deletedSlots;
+    private int unchangedCount;
+
+    private ForecastDiff(int slotCount, ToIntFunction<T> slotKey) {
+        this.slotKey = slotKey;
+        this.deletedSlots = new BitSet(slotCount);
+    }
+
+    /**
+     * Compares the two lists in one pass over each. Existing rows that change get
+     * the new values copied onto them, so callers only need to persist the inserts
+     * and remove the deleted rows. The incoming list wins if it contains a slot twice.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ForecastDiff<T> compute(List<T> existing, List<T> incoming, int slotCount,
+                                              ToIntFunction<T> slotKey,
+                                              BiPredicate<T, T> hasSameValues,
+                                              BiConsumer<T, T> copyValues) {
+        ForecastDiff<T> diff = new ForecastDiff<>(slotCount, slotKey);
+        Object[] existingBySlot = new Object[slotCount];
+        Object[] incomingBySlot = new Object[slotCount];
+
+        for (T row : existing) {
+            int slot = slotKey.applyAsInt(row);
+            existingBySlot[slot] = row;
+            diff.deletedSlots.set(slot);
+        }
+
+        for (T row : incoming) {
+            int slot = slotKey.applyAsInt(row);
+            incomingBySlot[slot] = row;
+            diff.deletedSlots.clear(slot);
+        }
+
+        for (T row : incoming) {
+            int slot = slotKey.applyAsInt(row);
+
+            if (incomingBySlot[slot] != row) {
+                continue;
+            }
+
+            T stored = (T) existingBySlot[slot];
+
+            if (stored == null) {
+                diff.inserts.add(row);
+                diff.result.add(row);
+            } else if (hasSameValues.test(stored, row)) {
+                diff.unchangedCount++;
+                diff.result.add(stored);
+            } else {
+                copyValues.accept(stored, row);
+                diff.updates.add(stored);
+                diff.result.add(stored);
+            }
+        }
+
+        return diff;
+    }
+
+    public boolean isDeleted(T row) {
+        return deletedSlots.get(slotKey.applyAsInt(row));
+    }
+
+    public List<T> getInserts() {
+        return Collections.unmodifiableList(inserts);
+    }
+
+    public List<T> getUpdates() {
+        return Collections.unmodifiableList(updates);
+    }
+
+    /**
+     * The rows that make up the forecast after the update, in incoming order.
+     */
+    public List<T> getResult() {
+        return Collections.unmodifiableList(result);
+    }
+
+    public int getDeleteCount() {
+        return deletedSlots.cardinality();
+    }
+
+    public int getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    public boolean isEmpty() {
+        return inserts.isEmpty() && updates.isEmpty() && deletedSlots.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ForecastDiff{" +
+                "inserts=" + inserts.size() +
+                ", updates=" + updates.size() +
+                ", deletes=" + getDeleteCount() +
+                ", unchanged=" + unchangedCount +
+                '}';
+    }
+}
@@ -2,31 +2,156 @@ package com.skyapi.weatherforecast;
 
 import com.ip2location.IP2Location;
 import com.ip2location.IPResult;
-import com.skyapi.weatherforecast.common.Location;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 
 @Service
 public class GeolocationService {
     public static final Logger LOGGER = LoggerFactory.getLogger(GeolocationService.class);
     private String DBPath = "/ip2locdb/IP2LOCATION-LITE-DB3.BIN";
     private IP2Location ipLocator = new IP2Location();
-    public GeolocationService() {
+    private final IPv4LocationCache ipv4LocationCache;
+    private final BoundedCache<IPAddressKey, IPLocation> locationCache;
+    private IPv4RangeIndex rangeIndex;
+
+    public GeolocationService(@Value("${geolocation.db.memory-mapped:false}") boolean memoryMapped,
+                              @Value("${geolocation.db.extract-path:${java.io.tmpdir}/ip2locdb/IP2LOCATION-LITE-DB3.BIN}")
+                              String extractPath,
+                              @Value("${geolocation.cache.max-size:10000}") int cacheMaxSize,
+                              @Value("${geolocation.cache.ttl-seconds:3600}") long cacheTtlSeconds,
+                              @Value("${geolocation.engine:ip2location}") String engine) {
+        this.ipv4LocationCache = new IPv4LocationCache(cacheMaxSize, Duration.ofSeconds(cacheTtlSeconds));
+        this.locationCache = new BoundedCache<>(cacheMaxSize, Duration.ofSeconds(cacheTtlSeconds));
+        boolean rangeIndexEnabled = "range-index".equals(engine);
+
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
         try {
-            InputStream inputStream = getClass().getResourceAsStream(DBPath);
-            byte[] data = inputStream.readAllBytes();
-            ipLocator.Open(data);
-            inputStream.close();
+            if (memoryMapped) {
+                openMemoryMapped(Path.of(extractPath), rangeIndexEnabled);
+            } else {
+                openInHeap(rangeIndexEnabled);
+            }
         } catch (IOException ex) {
             LOGGER.error(ex.getMessage(), ex);
+            return;
+        }
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        long heapDeltaKB = (runtime.totalMemory() - runtime.freeMemory() - heapBefore) / 1024;
+
+        LOGGER.info("IP2Location database opened in {} mode in {} ms, heap delta approx. {} KB",
+                memoryMapped ? "memory-mapped" : "byte[]", elapsedMillis, heapDeltaKB);
+
+        if (rangeIndex != null) {
+            LOGGER.info("IPv4 range index loaded with {} ranges and {} distinct locations",
+                    rangeIndex.getRangeCount(), rangeIndex.getLocationCount());
+        }
+    }
+
+    private void openInHeap(boolean rangeIndexEnabled) throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream(DBPath)) {
+            if (inputStream == null) {
+                throw new IOException("IP2Location database not found on classpath: " + DBPath);
+            }
+            byte[] data = inputStream.readAllBytes();
+            ipLocator.Open(data);
+
+            if (rangeIndexEnabled) {
+                rangeIndex = IPv4RangeIndex.load(ByteBuffer.wrap(data));
+            }
         }
     }
 
-    public Location getLocation(String ipAddress) throws GeolocationException {
+    private void openMemoryMapped(Path databaseFile, boolean rangeIndexEnabled) throws IOException {
+        extractDatabase(databaseFile);
+        ipLocator.Open(databaseFile.toString(), true);
+
+        if (rangeIndexEnabled) {
+            try (FileChannel channel = FileChannel.open(databaseFile, StandardOpenOption.READ)) {
+                rangeIndex = IPv4RangeIndex.load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+    }
+
+    /**
+     * Copies the BIN file from the classpath to the given path, unless an identical
+     * copy is already there (e.g. extracted by another JVM on the same host).
+     */
+    private void extractDatabase(Path databaseFile) throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream(DBPath)) {
+            if (inputStream == null) {
+                throw new IOException("IP2Location database not found on classpath: " + DBPath);
+            }
+
+            long resourceSize = getClass().getResource(DBPath).openConnection().getContentLengthLong();
+
+            if (Files.exists(databaseFile) && Files.size(databaseFile) == resourceSize) {
+                return;
+            }
+
+            Path parent = databaseFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+
+            Path tempFile = Files.createTempFile(parent, "ip2loc", ".tmp");
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, databaseFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            LOGGER.info("IP2Location database extracted to {}", databaseFile);
+        }
+    }
+
+    /**
+     * Looks up the location of an address. Dotted-quad IPv4 addresses take a path
+     * keyed on the primitive address value, so a cache or range index hit allocates
+     * nothing; the returned value is immutable and may be shared between callers.
+     */
+    public IPLocation getLocation(String ipAddress) throws GeolocationException {
+        long ipv4 = ipAddress == null ? -1 : IPAddressKey.parseIPv4(ipAddress, 0, ipAddress.length());
+        IPAddressKey key = null;
+
+        if (ipv4 < 0) {
+            key = IPAddressKey.parse(ipAddress);
+
+            if (key != null && key.isIPv4()) {
+                ipv4 = key.getLow() & 0xFFFFFFFFL;
+                key = null;
+            }
+        }
+
+        if (ipv4 >= 0) {
+            if (rangeIndex != null) {
+                IPLocation location = rangeIndex.find(ipv4);
+                if (location != null) {
+                    return location;
+                }
+            }
+
+            IPLocation cachedLocation = ipv4LocationCache.get(ipv4);
+            if (cachedLocation != null) {
+                return cachedLocation;
+            }
+        } else if (key != null) {
+            IPLocation cachedLocation = locationCache.get(key);
+            if (cachedLocation != null) {
+                return cachedLocation;
+            }
+        }
+
         try {
             IPResult result = ipLocator.IPQuery(ipAddress);
 
@@ -34,11 +159,19 @@ public class GeolocationService {
                 throw new GeolocationException("Geolocation failed with status: " + result.getStatus());
             }
 
-            LOGGER.info(result.toString());
+            LOGGER.debug("IP2Location result for {}: {}", ipAddress, result);
 
-            return new Location(result.getCity(), result.getRegion(),
+            IPLocation location = new IPLocation(result.getCity(), result.getRegion(),
                     result.getCountryLong(), result.getCountryShort());
 
+            if (ipv4 >= 0) {
+                ipv4LocationCache.put(ipv4, location);
+            } else if (key != null) {
+                locationCache.put(key, location);
+            }
+
+            return location;
+
         } catch (IOException e) {
             throw new GeolocationException("Error querying IP database", e);
         }
@@ -0,0 +1,46 @@
+package com.skyapi.weatherforecast;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the Hikari pool from the number of available processors, as
+ * cores * connections-per-core + extra-connections. Disabled when
+ * connections-per-core is 0, leaving the pool size to spring.datasource.hikari.
+ * The pool is started on first use, so the size can still be changed here.
+ */
+@Component
+public class HikariPoolSizer implements BeanPostProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HikariPoolSizer.class);
+
+    private final int connectionsPerCore;
+    private final int extraConnections;
+
+    public HikariPoolSizer(@Value("${datasource.pool.connections-per-core:0}") int connectionsPerCore,
+                           @Value("${datasource.pool.extra-connections:1}") int extraConnections) {
+        this.connectionsPerCore = connectionsPerCore;
+        this.extraConnections = extraConnections;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (connectionsPerCore > 0 && bean instanceof HikariDataSource dataSource) {
+            int poolSize = getPoolSize(Runtime.getRuntime().availableProcessors());
+
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setMinimumIdle(poolSize);
+
+            LOGGER.info("Hikari pool {} sized to {} connections", beanName, poolSize);
+        }
+
+        return bean;
+    }
+
+    int getPoolSize(int cores) {
+        return Math.max(2, cores * connectionsPerCore + extraConnections);
+    }
+}
@@ -0,0 +1,199 @@
+package com.skyapi.weatherforecast;
+
+/**
+ * Numeric form of an IP address literal, usable as a compact cache key.
+ * IPv4 addresses are stored in their IPv4-mapped IPv6 form (::ffff:a.b.c.d),
+ * so every address fits into two longs.
+ */
+public final class IPAddressKey {
+    private static final long IPV4_MAPPED_PREFIX = 0xFFFF00000000L;
+
+    private final long high;
+    private final long low;
+
+    private IPAddressKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Returns the key for the given address, or null if it is not a plain IPv4 or
+     * IPv6 literal (host names, zone ids, forwarded lists and so on).
+     */
+    public static IPAddressKey parse(String ipAddress) {
+        if (ipAddress == null || ipAddress.isEmpty()) {
+            return null;
+        }
+
+        if (ipAddress.indexOf(':') >= 0) {
+            return parseIPv6(ipAddress);
+        }
+
+        long ipv4 = parseIPv4(ipAddress, 0, ipAddress.length());
+
+        return ipv4 < 0 ? null : new IPAddressKey(0, IPV4_MAPPED_PREFIX | ipv4);
+    }
+
+    /**
+     * Parses a dotted-quad IPv4 address into an unsigned 32-bit value.
+     * Returns -1 if the text is not a valid address; octets with leading zeros
+     * are rejected because their meaning is ambiguous.
+     */
+    public static long parseIPv4(CharSequence ipAddress, int from, int to) {
+        long result = 0;
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+
+        for (int i = from; i < to; i++) {
+            char c = ipAddress.charAt(i);
+
+            if (c == '.') {
+                if (digits == 0 || octets == 3) {
+                    return -1;
+                }
+                result = (result << 8) | value;
+                octets++;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (digits > 0 && value == 0) {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+
+                if (value > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+
+        if (digits == 0 || octets != 3) {
+            return -1;
+        }
+
+        return (result << 8) | value;
+    }
+
+    private static IPAddressKey parseIPv6(String ipAddress) {
+        int length = ipAddress.length();
+        int[] groups = new int[8];
+        int count = 0;
+        int compressedAt = -1;
+        int i = 0;
+
+        if (ipAddress.startsWith("::")) {
+            compressedAt = 0;
+            i = 2;
+        }
+
+        while (i < length) {
+            int start = i;
+            int value = 0;
+
+            while (i < length && i - start < 5) {
+                int digit = Character.digit(ipAddress.charAt(i), 16);
+                if (digit < 0) {
+                    break;
+                }
+                value = (value << 4) | digit;
+                i++;
+            }
+
+            if (i < length && ipAddress.charAt(i) == '.') {
+                // embedded IPv4 address in the last 32 bits, e.g. ::ffff:10.0.0.1
+                long ipv4 = parseIPv4(ipAddress, start, length);
+                if (ipv4 < 0 || count > 6) {
+                    return null;
+                }
+                groups[count++] = (int) (ipv4 >>> 16);
+                groups[count++] = (int) (ipv4 & 0xFFFF);
+                break;
+            }
+
+            int digits = i - start;
+            if (digits == 0 || digits > 4 || count == 8) {
+                return null;
+            }
+            groups[count++] = value;
+
+            if (i == length) {
+                break;
+            }
+
+            if (ipAddress.charAt(i) != ':') {
+                return null;
+            }
+            i++;
+
+            if (i < length && ipAddress.charAt(i) == ':') {
+                if (compressedAt >= 0) {
+                    return null;
+                }
+                compressedAt = count;
+                i++;
+            } else if (i == length) {
+                return null;
+            }
+        }
+
+        if (compressedAt < 0) {
+            if (count != 8) {
+                return null;
+            }
+        } else {
+            if (count == 8) {
+                return null;
+            }
+            int shift = 8 - count;
+            for (int g = count - 1; g >= compressedAt; g--) {
+                groups[g + shift] = groups[g];
+                groups[g] = 0;
+            }
+        }
+
+        long high = 0;
+        long low = 0;
+        for (int g = 0; g < 4; g++) {
+            high = (high << 16) | groups[g];
+            low = (low << 16) | groups[g + 4];
+        }
+
+        return new IPAddressKey(high, low);
+    }
+
+    public boolean isIPv4() {
+        return high == 0 && (low >>> 32) == 0xFFFFL;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IPAddressKey that)) return false;
+        return high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) * 31 + Long.hashCode(low);
+    }
+
+    @Override
+    public String toString() {
+        return "IPAddressKey{" +
+                "high=" + Long.toHexString(high) +
+                ", low=" + Long.toHexString(low) +
+                '}';
+    }
+}
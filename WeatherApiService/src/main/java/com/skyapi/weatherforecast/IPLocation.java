@@ -0,0 +1,13 @@
+package com.skyapi.weatherforecast;
+
+/**
+ * City, region and country of a client address as found by GeolocationService.
+ * Immutable, so one instance can be cached and handed to every caller.
+ */
+public record IPLocation(String cityName, String regionName, String countryName, String countryCode) {
+
+    @Override
+    public String toString() {
+        return cityName + (regionName != null ? ", " + regionName : "") + ", " + countryName;
+    }
+}
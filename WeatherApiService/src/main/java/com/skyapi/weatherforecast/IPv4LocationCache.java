@@ -0,0 +1,65 @@
+package com.skyapi.weatherforecast;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Geolocation results keyed by the unsigned 32-bit IPv4 address. The cache is a
+ * direct-mapped table: an address hashes to one slot, and a new entry replaces
+ * whatever held that slot, which bounds the size without any bookkeeping.
+ * Lookups neither lock nor allocate.
+ */
+final class IPv4LocationCache {
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    IPv4LocationCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+
+        int capacity = maxSize == 1 ? 1 : Integer.highestOneBit(maxSize - 1) << 1;
+
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    IPLocation get(long ipv4) {
+        Entry entry = slots.get(slotOf(ipv4));
+
+        if (entry == null || entry.ipv4() != ipv4
+                || ttlNanos > 0 && System.nanoTime() - entry.createdAt() > ttlNanos) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.location();
+    }
+
+    void put(long ipv4, IPLocation location) {
+        slots.set(slotOf(ipv4), new Entry(ipv4, location, System.nanoTime()));
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    private int slotOf(long ipv4) {
+        // Fibonacci hashing spreads neighbouring addresses over the table
+        return (int) ((ipv4 * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private record Entry(long ipv4, IPLocation location, long createdAt) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.skyapi.weatherforecast;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only copy of the IPv4 part of an IP2Location BIN database (DB3 or higher),
+ * kept in parallel primitive arrays. Lookups are a binary search over the range
+ * starts and return a shared IPLocation per distinct city, region and country.
+ */
+public final class IPv4RangeIndex {
+    private static final int COUNTRY_OFFSET = 4;
+    private static final int REGION_OFFSET = 8;
+    private static final int CITY_OFFSET = 12;
+
+    private final int[] rangeStarts;
+    private final int[] locationIndexes;
+    private final IPLocation[] locations;
+
+    private IPv4RangeIndex(int[] rangeStarts, int[] locationIndexes, IPLocation[] locations) {
+        this.rangeStarts = rangeStarts;
+        this.locationIndexes = locationIndexes;
+        this.locations = locations;
+    }
+
+    public static IPv4RangeIndex load(ByteBuffer database) throws IOException {
+        ByteBuffer db = database.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        int dbType = db.get(0) & 0xFF;
+        int dbColumn = db.get(1) & 0xFF;
+        int rowCount = db.getInt(5);
+        int baseAddress = db.getInt(9) - 1;
+
+        if (dbType < 3 || dbColumn < 4) {
+            throw new IOException("IP2Location database type DB" + dbType + " has no city and region columns");
+        }
+
+        int rowSize = dbColumn * 4;
+        int[] rangeStarts = new int[rowCount];
+        int[] locationIndexes = new int[rowCount];
+        List<IPLocation> locations = new ArrayList<>();
+        Map<LocationPointers, Integer> locationIds = new HashMap<>();
+
+        for (int row = 0; row < rowCount; row++) {
+            int rowOffset = baseAddress + row * rowSize;
+
+            LocationPointers pointers = new LocationPointers(
+                    db.getInt(rowOffset + COUNTRY_OFFSET),
+                    db.getInt(rowOffset + REGION_OFFSET),
+                    db.getInt(rowOffset + CITY_OFFSET));
+
+            Integer locationId = locationIds.get(pointers);
+
+            if (locationId == null) {
+                locationId = locations.size();
+                locations.add(new IPLocation(readString(db, pointers.city()), readString(db, pointers.region()),
+                        readString(db, pointers.country() + 3), readString(db, pointers.country())));
+                locationIds.put(pointers, locationId);
+            }
+
+            rangeStarts[row] = db.getInt(rowOffset);
+            locationIndexes[row] = locationId;
+        }
+
+        return new IPv4RangeIndex(rangeStarts, locationIndexes, locations.toArray(new IPLocation[0]));
+    }
+
+    private static String readString(ByteBuffer db, int position) {
+        int length = db.get(position) & 0xFF;
+        byte[] bytes = new byte[length];
+        db.get(position + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the location of the given unsigned 32-bit address, or null if it lies
+     * before the first range.
+     */
+    public IPLocation find(long ipv4) {
+        int ip = (int) ipv4;
+        int low = 0;
+        int high = rangeStarts.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            if (Integer.compareUnsigned(rangeStarts[mid], ip) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return high < 0 ? null : locations[locationIndexes[high]];
+    }
+
+    public int getRangeCount() {
+        return rangeStarts.length;
+    }
+
+    public int getLocationCount() {
+        return locations.length;
+    }
+
+    private record LocationPointers(int country, int region, int city) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.skyapi.weatherforecast;
+
+import com.skyapi.weatherforecast.daily.DailyWeatherController;
+import com.skyapi.weatherforecast.full.FullWeatherController;
+import com.skyapi.weatherforecast.hourly.HourlyWeatherController;
+import com.skyapi.weatherforecast.location.LocationController;
+import com.skyapi.weatherforecast.realtime.RealtimeWeatherController;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Path templates of the GET endpoints, read once from the controllers' mapping
+ * annotations. Links are built by putting the location code in place of the
+ * template variable and prepending the base URI of the current request, which
+ * gives the same hrefs as linkTo(methodOn(...)) without creating a proxy and
+ * capturing an invocation for every link.
+ */
+public final class LinkTemplates {
+    public static final String LOCATIONS = path(LocationController.class, "listLocations");
+    public static final String LOCATION_BY_CODE = path(LocationController.class, "getLocation");
+    public static final String REALTIME_BY_IP = path(RealtimeWeatherController.class, "getRealtimeWeatherByIPAddress");
+    public static final String REALTIME_BY_CODE = path(RealtimeWeatherController.class, "getRealtimeWeatherByLocationCode");
+    public static final String HOURLY_BY_IP = path(HourlyWeatherController.class, "listHourlyForecastByIPAddress");
+    public static final String HOURLY_BY_CODE = path(HourlyWeatherController.class, "listHourlyForecastByLocationCode");
+    public static final String DAILY_BY_IP = path(DailyWeatherController.class, "listDailyForecastByIPAddress");
+    public static final String DAILY_BY_CODE = path(DailyWeatherController.class, "listDailyForecastByLocationCode");
+    public static final String FULL_BY_IP = path(FullWeatherController.class, "getFullWeatherByIPAddress");
+    public static final String FULL_BY_CODE = path(FullWeatherController.class, "getFullWeatherByLocationCode");
+
+    private LinkTemplates() {
+    }
+
+    /**
+     * Returns the scheme, host, port and context path of the current request.
+     */
+    public static String getBaseUri() {
+        return ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+    }
+
+    public static Link link(String template) {
+        return Link.of(getBaseUri() + template);
+    }
+
+    public static Link link(String template, String locationCode) {
+        return Link.of(getBaseUri() + expand(template, locationCode));
+    }
+
+    /**
+     * Replaces the single variable of the given path template with the encoded value.
+     */
+    public static String expand(String template, String value) {
+        int start = template.indexOf('{');
+
+        if (start < 0) {
+            return template;
+        }
+
+        int end = template.indexOf('}', start);
+
+        return template.substring(0, start)
+                + UriUtils.encodePathSegment(value, StandardCharsets.UTF_8)
+                + template.substring(end + 1);
+    }
+
+    private static String path(Class<?> controller, String methodName) {
+        RequestMapping typeMapping = AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class);
+        String prefix = typeMapping != null && typeMapping.path().length > 0 ? typeMapping.path()[0] : "";
+
+        for (Method method : controller.getMethods()) {
+            if (!method.getName().equals(methodName)) {
+                continue;
+            }
+
+            RequestMapping methodMapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+
+            if (methodMapping != null) {
+                return prefix + (methodMapping.path().length > 0 ? methodMapping.path()[0] : "");
+            }
+        }
+
+        throw new IllegalStateException("No request mapping for " + controller.getSimpleName() + "." + methodName);
+    }
+}
@@ -0,0 +1,8 @@
+package com.skyapi.weatherforecast;
+
+/**
+ * Published when a location or any of its weather data changes, so that
+ * caches keyed by location code can drop their copy.
+ */
+public record LocationDataChangedEvent(String locationCode) {
+}
@@ -0,0 +1,30 @@
+package com.skyapi.weatherforecast;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version number per location code, bumped after every committed change of the
+ * location or its weather data made through this instance. The in-memory caches
+ * record the version their entries were loaded at, so an entry loaded before a
+ * concurrent update is not served after it. The versions are local to this JVM
+ * and are not used as HTTP validators; see ContentETags.
+ */
+@Component
+public class LocationVersionRegistry {
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    public long getVersion(String locationCode) {
+        return versions.getOrDefault(locationCode, 0L);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationDataChanged(LocationDataChangedEvent event) {
+        versions.put(event.locationCode(), sequence.incrementAndGet());
+    }
+}
@@ -0,0 +1,98 @@
+package com.skyapi.weatherforecast;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Re-indents JSON responses of requests with pretty=true. Responses are written
+ * compact by default; this is meant for debugging only, since the whole body is
+ * buffered and parsed again. Newline-delimited JSON is passed through as is.
+ */
+@Component
+public class PrettyPrintFilter extends OncePerRequestFilter {
+    public static final String PRETTY_PARAMETER = "pretty";
+
+    private final ObjectMapper objectMapper;
+
+    public PrettyPrintFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"true".equalsIgnoreCase(request.getParameter(PRETTY_PARAMETER));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HttpServletResponse responseToUse = response;
+
+        if (!isAsyncDispatch(request) && !(response instanceof ContentCachingResponseWrapper)) {
+            responseToUse = new ContentCachingResponseWrapper(response);
+        }
+
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                ContentCachingResponseWrapper wrapper =
+                        WebUtils.getNativeResponse(responseToUse, ContentCachingResponseWrapper.class);
+
+                if (wrapper != null) {
+                    indent(wrapper);
+                    wrapper.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    private void indent(ContentCachingResponseWrapper wrapper) throws IOException {
+        byte[] body = wrapper.getContentAsByteArray();
+
+        if (body.length == 0 || !isJson(wrapper.getContentType())) {
+            return;
+        }
+
+        JsonNode tree;
+
+        try {
+            tree = objectMapper.readTree(body);
+        } catch (IOException ex) {
+            return; // leave anything that does not parse untouched
+        }
+
+        byte[] indentedBody = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(tree);
+
+        wrapper.resetBuffer();
+        wrapper.getOutputStream().write(indentedBody);
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+
+        return !MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)
+                && (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                    || mediaType.getSubtype().endsWith("+json"));
+    }
+}
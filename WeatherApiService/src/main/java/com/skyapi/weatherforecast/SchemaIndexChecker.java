@@ -0,0 +1,132 @@
+package com.skyapi.weatherforecast;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the indexes declared in the @Table annotations of the entities with the
+ * ones present in the database and warns about those that are missing, e.g. when
+ * the schema is not managed by ddl-auto. An existing index counts as a match if
+ * its leading columns are the declared ones, whatever its name.
+ */
+@Component
+public class SchemaIndexChecker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaIndexChecker.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    public SchemaIndexChecker(EntityManagerFactory entityManagerFactory,
+                              DataSource dataSource,
+                              @Value("${schema.index-check.enabled:true}") boolean enabled) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndexes() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            List<String> missingIndexes = findMissingIndexes();
+
+            if (missingIndexes.isEmpty()) {
+                LOGGER.info("All declared indexes are present");
+            } else {
+                missingIndexes.forEach(index -> LOGGER.warn("Missing index {}", index));
+            }
+        } catch (SQLException ex) {
+            LOGGER.error("Could not check the database indexes", ex);
+        }
+    }
+
+    /**
+     * Returns the declared indexes that have no matching index in the database,
+     * as "table.name (columns)".
+     */
+    public List<String> findMissingIndexes() throws SQLException {
+        List<String> missingIndexes = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+
+            for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+                Table table = entityType.getJavaType().getAnnotation(Table.class);
+
+                if (table == null || table.indexes().length == 0) {
+                    continue;
+                }
+
+                Collection<List<String>> existingIndexes =
+                        readIndexColumns(metaData, connection.getCatalog(), table.name()).values();
+
+                for (Index index : table.indexes()) {
+                    List<String> columns = parseColumnList(index.columnList());
+
+                    boolean present = existingIndexes.stream()
+                            .anyMatch(existing -> existing.size() >= columns.size()
+                                    && existing.subList(0, columns.size()).equals(columns));
+
+                    if (!present) {
+                        missingIndexes.add(table.name() + "." + index.name() + " " + columns);
+                    }
+                }
+            }
+        }
+
+        return missingIndexes;
+    }
+
+    private static Map<String, List<String>> readIndexColumns(DatabaseMetaData metaData, String catalog,
+                                                              String tableName) throws SQLException {
+        Map<String, Map<Short, String>> columnsByIndex = new TreeMap<>();
+
+        try (ResultSet resultSet = metaData.getIndexInfo(catalog, null, tableName, false, true)) {
+            while (resultSet.next()) {
+                String indexName = resultSet.getString("INDEX_NAME");
+                String columnName = resultSet.getString("COLUMN_NAME");
+
+                if (indexName != null && columnName != null) {
+                    columnsByIndex.computeIfAbsent(indexName, name -> new TreeMap<>())
+                            .put(resultSet.getShort("ORDINAL_POSITION"), columnName.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        Map<String, List<String>> indexColumns = new TreeMap<>();
+        columnsByIndex.forEach((name, columns) -> indexColumns.put(name, List.copyOf(columns.values())));
+
+        return indexColumns;
+    }
+
+    static List<String> parseColumnList(String columnList) {
+        return Arrays.stream(columnList.split(","))
+                .map(column -> column.trim().split("\\s+")[0].toLowerCase(Locale.ROOT))
+                .toList();
+    }
+}
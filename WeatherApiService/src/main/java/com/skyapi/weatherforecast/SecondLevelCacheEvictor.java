@@ -0,0 +1,36 @@
+package com.skyapi.weatherforecast;
+
+import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.common.RealtimeWeather;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops the second-level cache entries of a location and its weather data once a
+ * change to them has been committed. Hibernate keeps the regions up to date for
+ * writes made through managed entities; this also covers any other write path.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+    private static final String HOURLY_WEATHER_ROLE = Location.class.getName() + ".listHourlyWeather";
+    private static final String DAILY_WEATHER_ROLE = Location.class.getName() + ".listDailyWeather";
+
+    private final Cache cache;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationDataChanged(LocationDataChangedEvent event) {
+        String code = event.locationCode();
+
+        cache.evictEntityData(Location.class, code);
+        cache.evictEntityData(RealtimeWeather.class, code);
+        cache.evictCollectionData(HOURLY_WEATHER_ROLE, code);
+        cache.evictCollectionData(DAILY_WEATHER_ROLE, code);
+    }
+}
@@ -0,0 +1,48 @@
+package com.skyapi.weatherforecast;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JSON field names of a bean's properties as the mapper's bean serializer would
+ * write them, i.e. after the naming strategy and any @JsonProperty renames. Lets
+ * hand-written serializers stay in step with the ObjectMapper configuration.
+ */
+public final class SerializedNames {
+    private final Class<?> type;
+    private final Map<String, SerializedString> names = new HashMap<>();
+
+    private SerializedNames(Class<?> type) {
+        this.type = type;
+    }
+
+    public static SerializedNames of(SerializerProvider provider, Class<?> type) {
+        BeanDescription description = provider.getConfig().introspect(provider.constructType(type));
+        SerializedNames serializedNames = new SerializedNames(type);
+
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            serializedNames.names.put(property.getInternalName(), new SerializedString(property.getName()));
+        }
+
+        return serializedNames;
+    }
+
+    /**
+     * Returns the serialized name of the property with the given Java name.
+     */
+    public SerializedString get(String propertyName) throws JsonMappingException {
+        SerializedString name = names.get(propertyName);
+
+        if (name == null) {
+            throw new JsonMappingException(null, "No serializable property '" + propertyName + "' in " + type.getName());
+        }
+
+        return name;
+    }
+}
@@ -1,55 +1,66 @@
 package com.skyapi.weatherforecast.base;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
-import com.skyapi.weatherforecast.daily.DailyWeatherController;
-import com.skyapi.weatherforecast.full.FullWeatherController;
-import com.skyapi.weatherforecast.hourly.HourlyWeatherController;
-import com.skyapi.weatherforecast.location.LocationController;
-import com.skyapi.weatherforecast.realtime.RealtimeWeatherController;
+import static com.skyapi.weatherforecast.LinkTemplates.*;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 public class MainController {
+    private final RootDocumentCache documentCache;
+
+    public MainController(RootDocumentCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
     @GetMapping("/")
-    public ResponseEntity<RootEntity> handleBaseURI() {
-        return ResponseEntity.ok(createRootEntity());
+    public ResponseEntity<byte[]> handleBaseURI(WebRequest webRequest) {
+        RootDocumentCache.RenderedDocument document = documentCache.get(getBaseUri(), this::createRootEntity);
+
+        if (webRequest.checkNotModified(document.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(document.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(document.body());
     }
 
-    private RootEntity createRootEntity() {
+    private RootEntity createRootEntity(String baseUri) {
         RootEntity entity = new RootEntity();
 
-        String locationsUrl = linkTo(methodOn(LocationController.class).listLocations()).toString();
+        String locationsUrl = baseUri + LOCATIONS;
         entity.setLocationsUrl(locationsUrl);
 
-        String locationByCodeUrl = linkTo(methodOn(LocationController.class).getLocation(null)).toString();
+        String locationByCodeUrl = baseUri + LOCATION_BY_CODE;
         entity.setLocationByCodeUrl(locationByCodeUrl);
 
-        String realtimeWeatherByIpUrl = linkTo(methodOn(RealtimeWeatherController.class).getRealtimeWeatherByIPAddress(null)).toString();
+        String realtimeWeatherByIpUrl = baseUri + REALTIME_BY_IP;
         entity.setRealtimeWeatherByIpUrl(realtimeWeatherByIpUrl);
 
-        String realtimeWeatherByCodeUrl = linkTo(methodOn(RealtimeWeatherController.class).getRealtimeWeatherByLocationCode(null)).toString();
+        String realtimeWeatherByCodeUrl = baseUri + REALTIME_BY_CODE;
         entity.setRealtimeWeatherByCodeUrl(realtimeWeatherByCodeUrl);
 
-        String hourlyForecastByIpUrl = linkTo(methodOn(HourlyWeatherController.class).listHourlyForecastByIPAddress(null)).toString();
+        String hourlyForecastByIpUrl = baseUri + HOURLY_BY_IP;
         entity.setHourlyForecastByIpUrl(hourlyForecastByIpUrl);
 
-        String hourlyForecastByCodeUrl = linkTo(methodOn(HourlyWeatherController.class).listHourlyForecastByLocationCode(null, null)).toString();
+        String hourlyForecastByCodeUrl = baseUri + HOURLY_BY_CODE;
         entity.setHourlyForecastByCodeUrl(hourlyForecastByCodeUrl);
 
-        String dailyForecastByIpUrl = linkTo(methodOn(DailyWeatherController.class).listDailyForecastByIPAddress( null)).toString();
+        String dailyForecastByIpUrl = baseUri + DAILY_BY_IP;
         entity.setDailyForecastByIpUrl(dailyForecastByIpUrl);
 
-        String dailyForecastByCodeUrl = linkTo(methodOn(DailyWeatherController.class).listDailyForecastByLocationCode( null)).toString();
+        String dailyForecastByCodeUrl = baseUri + DAILY_BY_CODE;
         entity.setDailyForecastByCodeUrl(dailyForecastByCodeUrl);
 
-        String fullWeatherByIpUrl = linkTo(methodOn(FullWeatherController.class).getFullWeatherByIPAddress( null)).toString();
+        String fullWeatherByIpUrl = baseUri + FULL_BY_IP;
         entity.setFullWeatherByIpUrl(fullWeatherByIpUrl);
 
-        String fullWeatherByCodeUrl = linkTo(methodOn(FullWeatherController.class).getFullWeatherByLocationCode( null)).toString();
+        String fullWeatherByCodeUrl = baseUri + FULL_BY_CODE;
         entity.setFullWeatherByCodeUrl(fullWeatherByCodeUrl);
 
         return entity;
@@ -0,0 +1,60 @@
+package com.skyapi.weatherforecast.base;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyapi.weatherforecast.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Holds the serialized root document per base URI, together with its ETag.
+ * The document only depends on scheme, host and context path, so it is
+ * rendered once for each of them. The map is bounded because the base URI
+ * comes from the request's Host header. The ETag is strong: the body is far
+ * below server.compression.min-response-size, so it is never compressed.
+ */
+@Component
+public class RootDocumentCache {
+    private final BoundedCache<String, RenderedDocument> documents;
+    private final ObjectMapper objectMapper;
+
+    public RootDocumentCache(@Value("${root.cache.max-size:16}") int maxSize,
+                             ObjectMapper objectMapper) {
+        this.documents = new BoundedCache<>(maxSize, Duration.ZERO);
+        this.objectMapper = objectMapper;
+    }
+
+    public RenderedDocument get(String baseUri, Function<String, RootEntity> documentFactory) {
+        RenderedDocument document = documents.get(baseUri);
+
+        if (document == null) {
+            byte[] body = render(documentFactory.apply(baseUri));
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+
+            document = new RenderedDocument(body, etag);
+            documents.put(baseUri, document);
+        }
+
+        return document;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private byte[] render(RootEntity entity) {
+        try {
+            return objectMapper.writeValueAsBytes(entity);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public record RenderedDocument(byte[] body, String etag) {
+    }
+}
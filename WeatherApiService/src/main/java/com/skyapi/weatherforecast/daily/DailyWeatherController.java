@@ -2,26 +2,23 @@ package com.skyapi.weatherforecast.daily;
 
 import com.skyapi.weatherforecast.BadRequestException;
 import com.skyapi.weatherforecast.CommonUtility;
+import com.skyapi.weatherforecast.ContentETags;
 import com.skyapi.weatherforecast.GeolocationService;
+import com.skyapi.weatherforecast.IPLocation;
 import com.skyapi.weatherforecast.common.DailyWeather;
 import com.skyapi.weatherforecast.common.Location;
-import com.skyapi.weatherforecast.full.FullWeatherController;
-import com.skyapi.weatherforecast.hourly.HourlyWeatherController;
-import com.skyapi.weatherforecast.realtime.RealtimeWeatherController;
 import com.skyapi.weatherforecast.realtime.RealtimeWeatherDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static com.skyapi.weatherforecast.CommonUtility.checkNotModified;
+import static com.skyapi.weatherforecast.LinkTemplates.*;
 
 @RestController
 @RequestMapping("/v1/daily")
@@ -29,27 +26,28 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class DailyWeatherController {
     private final DailyWeatherService dailyWeatherService;
     private final GeolocationService geolocationService;
-    private final ModelMapper modelMapper;
 
     public DailyWeatherController(DailyWeatherService dailyWeatherService,
-                                  GeolocationService geolocationService,
-                                  ModelMapper modelMapper) {
+                                  GeolocationService geolocationService) {
         this.dailyWeatherService = dailyWeatherService;
         this.geolocationService = geolocationService;
-        this.modelMapper = modelMapper;
     }
 
     @GetMapping
     public ResponseEntity<?> listDailyForecastByIPAddress(HttpServletRequest request) {
         String ipAddress = CommonUtility.getIPAddress(request);
 
-        Location locationFromIP = geolocationService.getLocation(ipAddress);
+        IPLocation locationFromIP = geolocationService.getLocation(ipAddress);
         List<DailyWeather> dailyForecast = dailyWeatherService.getByLocation(locationFromIP);
 
         if (dailyForecast.isEmpty()) {
            return ResponseEntity.noContent().build();
         }
 
+        if (checkNotModified(ContentETags.daily(dailyForecast), -1)) {
+            return null;
+        }
+
         DailyWeatherListDTO dto = listEntity2DTO(dailyForecast);
 
         return ResponseEntity.ok(addLinksByIP(dto));
@@ -62,6 +60,11 @@ public class DailyWeatherController {
         if (dailyForecast.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
+
+        if (checkNotModified(ContentETags.daily(dailyForecast), -1)) {
+            return null;
+        }
+
         DailyWeatherListDTO dto = listEntity2DTO(dailyForecast);
         return ResponseEntity.ok(addLinksByLocation(dto, locationCode));
     }
@@ -89,41 +92,22 @@ public class DailyWeatherController {
         DailyWeatherListDTO listDTO = new DailyWeatherListDTO();
         listDTO.setLocation(location.toString());
 
-        dailyForecast.forEach(dailyWeather -> {
-                    DailyWeatherDTO dto = modelMapper.map(dailyWeather, DailyWeatherDTO.class);
-                    listDTO.addDailyWeatherDTO(dto);
-                });
+        dailyForecast.forEach(dailyWeather -> listDTO.addDailyWeatherDTO(DailyWeatherMapper.toDTO(dailyWeather)));
 
         return listDTO;
     }
 
     private List<DailyWeather> listDTO2listEntity(List<DailyWeatherDTO> dtoList) {
-
-        List<DailyWeather> listEntity  = new ArrayList<>();
-
-        dtoList.forEach(dto -> {
-            DailyWeather dailyForecast = modelMapper.map(dto, DailyWeather.class);
-            listEntity .add(dailyForecast);
-        });
-
-        return listEntity ;
+        return DailyWeatherMapper.toEntities(dtoList);
     }
 
     private EntityModel<DailyWeatherListDTO> addLinksByIP(DailyWeatherListDTO dto) {
         EntityModel<DailyWeatherListDTO> entityModel = EntityModel.of(dto);
 
-        entityModel.add(linkTo(
-                methodOn(DailyWeatherController.class).listDailyForecastByIPAddress(null))
-                .withSelfRel());
-        entityModel.add(linkTo(
-                methodOn(HourlyWeatherController.class).listHourlyForecastByIPAddress(null))
-                .withRel("hourly_forecast"));
-        entityModel.add(linkTo(
-                methodOn(RealtimeWeatherController.class).getRealtimeWeatherByIPAddress(null))
-                .withRel("realtime_weather"));
-        entityModel.add(linkTo(
-                methodOn(FullWeatherController.class).getFullWeatherByIPAddress(null))
-                .withRel("full_forecast"));
+        entityModel.add(link(DAILY_BY_IP).withSelfRel());
+        entityModel.add(link(HOURLY_BY_IP).withRel("hourly_forecast"));
+        entityModel.add(link(REALTIME_BY_IP).withRel("realtime_weather"));
+        entityModel.add(link(FULL_BY_IP).withRel("full_forecast"));
 
         return entityModel;
     }
@@ -131,17 +115,9 @@ public class DailyWeatherController {
     private EntityModel<DailyWeatherListDTO> addLinksByLocation(DailyWeatherListDTO dto, String locationCode) {
 
         return EntityModel.of(dto)
-                .add(linkTo(
-                    methodOn(DailyWeatherController.class).listDailyForecastByLocationCode(locationCode))
-                    .withSelfRel())
-                .add(linkTo(
-                    methodOn(HourlyWeatherController.class).listHourlyForecastByLocationCode(locationCode, null))
-                    .withRel("hourly_forecast"))
-                .add(linkTo(
-                        methodOn(RealtimeWeatherController.class).getRealtimeWeatherByLocationCode(locationCode))
-                        .withRel("realtime_weather"))
-                .add(linkTo(
-                        methodOn(FullWeatherController.class).getFullWeatherByLocationCode(locationCode))
-                        .withRel("full_forecast"));
+                .add(link(DAILY_BY_CODE, locationCode).withSelfRel())
+                .add(link(HOURLY_BY_CODE, locationCode).withRel("hourly_forecast"))
+                .add(link(REALTIME_BY_CODE, locationCode).withRel("realtime_weather"))
+                .add(link(FULL_BY_CODE, locationCode).withRel("full_forecast"));
     }
 }
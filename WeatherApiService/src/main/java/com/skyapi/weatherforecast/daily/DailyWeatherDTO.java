@@ -1,6 +1,7 @@
 package com.skyapi.weatherforecast.daily;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.hibernate.validator.constraints.Length;
 import org.hibernate.validator.constraints.Range;
 
@@ -12,6 +13,7 @@ import org.hibernate.validator.constraints.Range;
         "precipitation",
         "status"
 })
+@JsonSerialize(using = DailyWeatherDTOSerializer.class)
 public class DailyWeatherDTO {
     @Range(min = 1, max = 31, message = "Day of month must be between 1-31")
     private int dayOfMonth;
@@ -0,0 +1,60 @@
+package com.skyapi.weatherforecast.daily;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.skyapi.weatherforecast.SerializedNames;
+
+import java.io.IOException;
+
+/**
+ * Writes a daily forecast straight to the generator, with the same field names
+ * and order as the bean serializer would produce. The names are resolved once per
+ * mapper, so they follow its naming strategy.
+ */
+public class DailyWeatherDTOSerializer extends StdSerializer<DailyWeatherDTO> implements ResolvableSerializer {
+    private SerializedString dayOfMonthName;
+    private SerializedString monthName;
+    private SerializedString minTempName;
+    private SerializedString maxTempName;
+    private SerializedString precipitationName;
+    private SerializedString statusName;
+
+    public DailyWeatherDTOSerializer() {
+        super(DailyWeatherDTO.class);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        SerializedNames names = SerializedNames.of(provider, DailyWeatherDTO.class);
+
+        dayOfMonthName = names.get("dayOfMonth");
+        monthName = names.get("month");
+        minTempName = names.get("minTemp");
+        maxTempName = names.get("maxTemp");
+        precipitationName = names.get("precipitation");
+        statusName = names.get("status");
+    }
+
+    @Override
+    public void serialize(DailyWeatherDTO dto, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(dayOfMonthName);
+        generator.writeNumber(dto.getDayOfMonth());
+        generator.writeFieldName(monthName);
+        generator.writeNumber(dto.getMonth());
+        generator.writeFieldName(minTempName);
+        generator.writeNumber(dto.getMinTemp());
+        generator.writeFieldName(maxTempName);
+        generator.writeNumber(dto.getMaxTemp());
+        generator.writeFieldName(precipitationName);
+        generator.writeNumber(dto.getPrecipitation());
+        generator.writeFieldName(statusName);
+        generator.writeString(dto.getStatus());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,49 @@
+package com.skyapi.weatherforecast.daily;
+
+import com.skyapi.weatherforecast.ForecastDiff;
+import com.skyapi.weatherforecast.common.DailyWeather;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Daily key scheme for {@link ForecastDiff}: a row's slot packs its date as
+ * month &lt;&lt; 5 | day, which keeps the same day of different months apart
+ * (the forecast may span a month boundary) and fits a year in 13 * 32 slots.
+ */
+final class DailyWeatherDiff {
+    private static final int KEY_SPACE = 13 * 32;
+
+    private DailyWeatherDiff() {
+    }
+
+    static ForecastDiff<DailyWeather> compute(List<DailyWeather> existing, List<DailyWeather> incoming) {
+        return ForecastDiff.compute(existing, incoming, KEY_SPACE,
+                DailyWeatherDiff::keyOf, DailyWeatherDiff::hasSameValues, DailyWeatherDiff::copyValues);
+    }
+
+    private static int keyOf(DailyWeather dailyWeather) {
+        int month = dailyWeather.getId().getMonth();
+        int dayOfMonth = dailyWeather.getId().getDayOfMonth();
+
+        if (month < 1 || month > 12 || dayOfMonth < 1 || dayOfMonth > 31) {
+            throw new IllegalArgumentException("Invalid day of month " + dayOfMonth + " or month " + month);
+        }
+
+        return month << 5 | dayOfMonth;
+    }
+
+    private static boolean hasSameValues(DailyWeather stored, DailyWeather incoming) {
+        return stored.getMinTemp() == incoming.getMinTemp()
+                && stored.getMaxTemp() == incoming.getMaxTemp()
+                && stored.getPrecipitation() == incoming.getPrecipitation()
+                && Objects.equals(stored.getStatus(), incoming.getStatus());
+    }
+
+    private static void copyValues(DailyWeather stored, DailyWeather incoming) {
+        stored.setMinTemp(incoming.getMinTemp());
+        stored.setMaxTemp(incoming.getMaxTemp());
+        stored.setPrecipitation(incoming.getPrecipitation());
+        stored.setStatus(incoming.getStatus());
+    }
+}
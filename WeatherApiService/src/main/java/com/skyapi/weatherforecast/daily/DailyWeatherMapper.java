@@ -0,0 +1,56 @@
+package com.skyapi.weatherforecast.daily;
+
+import com.skyapi.weatherforecast.common.DailyWeather;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Field by field conversion between DailyWeather and DailyWeatherDTO. The
+ * location part of the id is left for the service to set.
+ */
+public final class DailyWeatherMapper {
+
+    private DailyWeatherMapper() {
+    }
+
+    public static DailyWeatherDTO toDTO(DailyWeather entity) {
+        DailyWeatherDTO dto = new DailyWeatherDTO();
+        dto.setDayOfMonth(entity.getId().getDayOfMonth());
+        dto.setMonth(entity.getId().getMonth());
+        dto.setMinTemp(entity.getMinTemp());
+        dto.setMaxTemp(entity.getMaxTemp());
+        dto.setPrecipitation(entity.getPrecipitation());
+        dto.setStatus(entity.getStatus());
+
+        return dto;
+    }
+
+    public static DailyWeather toEntity(DailyWeatherDTO dto) {
+        DailyWeather entity = new DailyWeather();
+        entity.getId().setDayOfMonth(dto.getDayOfMonth());
+        entity.getId().setMonth(dto.getMonth());
+        entity.setMinTemp(dto.getMinTemp());
+        entity.setMaxTemp(dto.getMaxTemp());
+        entity.setPrecipitation(dto.getPrecipitation());
+        entity.setStatus(dto.getStatus());
+
+        return entity;
+    }
+
+    public static List<DailyWeatherDTO> toDTOs(List<DailyWeather> entities) {
+        List<DailyWeatherDTO> dtos = new ArrayList<>(entities.size());
+        for (DailyWeather entity : entities) {
+            dtos.add(toDTO(entity));
+        }
+        return dtos;
+    }
+
+    public static List<DailyWeather> toEntities(List<DailyWeatherDTO> dtos) {
+        List<DailyWeather> entities = new ArrayList<>(dtos.size());
+        for (DailyWeatherDTO dto : dtos) {
+            entities.add(toEntity(dto));
+        }
+        return entities;
+    }
+}
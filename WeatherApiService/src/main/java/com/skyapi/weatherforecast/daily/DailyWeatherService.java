@@ -1,34 +1,58 @@
 package com.skyapi.weatherforecast.daily;
 
 
+import com.skyapi.weatherforecast.ForecastDiff;
+import com.skyapi.weatherforecast.IPLocation;
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
 import com.skyapi.weatherforecast.common.DailyWeather;
 import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.location.LocationCodeIndex;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
 import com.skyapi.weatherforecast.location.LocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class DailyWeatherService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DailyWeatherService.class);
     private final DailyWeatherRepository dailyWeatherRepository;
     private final LocationRepository locationRepository;
+    private final LocationCodeIndex locationCodeIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public DailyWeatherService(DailyWeatherRepository dailyWeatherRepository, LocationRepository locationRepository) {
+    public DailyWeatherService(DailyWeatherRepository dailyWeatherRepository,
+                               LocationRepository locationRepository,
+                               LocationCodeIndex locationCodeIndex,
+                               ApplicationEventPublisher eventPublisher) {
         this.dailyWeatherRepository = dailyWeatherRepository;
         this.locationRepository = locationRepository;
+        this.locationCodeIndex = locationCodeIndex;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<DailyWeather> getByLocation(Location location) {
-        String countryCode = location.getCountryCode();
-        String cityName = location.getCityName();
+    public List<DailyWeather> getByLocation(IPLocation location) {
+        String countryCode = location.countryCode();
+        String cityName = location.cityName();
+        String locationCode = locationCodeIndex.findCode(countryCode, cityName);
+
+        if (locationCode != null) {
+            return dailyWeatherRepository.findByLocationCode(locationCode);
+        }
+
+        long indexGeneration = locationCodeIndex.getGeneration();
         Location locationInDB = locationRepository.findByCountryCodeAndCityName(countryCode, cityName);
 
         if (locationInDB == null) {
             throw new LocationNotFoundException(countryCode, cityName);
         }
 
+        locationCodeIndex.put(locationInDB, indexGeneration);
+
         return dailyWeatherRepository.findByLocationCode(locationInDB.getCode());
     }
 
@@ -40,6 +64,11 @@ public class DailyWeatherService {
         return dailyWeatherRepository.findByLocationCode(locationCode);
     }
 
+    /**
+     * Replaces the daily forecast of a location, writing only the days that were
+     * added, changed or removed.
+     */
+    @Transactional
     public List<DailyWeather> updateByLocationCode(String code, List<DailyWeather> dailyWeatherInRequest)
             throws LocationNotFoundException {
         Location location = locationRepository.findByCode(code);
@@ -53,18 +82,17 @@ public class DailyWeatherService {
         }
 
         List<DailyWeather> dailyWeatherInDB = location.getListDailyWeather();
-        List<DailyWeather> dailyWeatherToBeRemoved = new ArrayList<>();
+        ForecastDiff<DailyWeather> diff = DailyWeatherDiff.compute(dailyWeatherInDB, dailyWeatherInRequest);
 
-        for (DailyWeather forecast : dailyWeatherInDB) {
-            if (!dailyWeatherInRequest.contains(forecast)) {
-                dailyWeatherToBeRemoved.add(forecast.getShallowCopy());
-            }
-        }
+        LOGGER.debug("Daily forecast update for {}: {}", code, diff);
+
+        if (!diff.isEmpty()) {
+            dailyWeatherInDB.removeIf(diff::isDeleted);
+            dailyWeatherInDB.addAll(diff.getInserts());
 
-        for (DailyWeather forecastToBeRemoved : dailyWeatherToBeRemoved) {
-            dailyWeatherInDB.remove(forecastToBeRemoved);
+            eventPublisher.publishEvent(new LocationDataChangedEvent(code));
         }
 
-        return (List<DailyWeather>) dailyWeatherRepository.saveAll(dailyWeatherInRequest);
+        return diff.getResult();
     }
 }
@@ -1,36 +1,70 @@
 package com.skyapi.weatherforecast.full;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skyapi.weatherforecast.BadRequestException;
 import com.skyapi.weatherforecast.CommonUtility;
+import com.skyapi.weatherforecast.ContentETags;
 import com.skyapi.weatherforecast.GeolocationService;
+import com.skyapi.weatherforecast.IPLocation;
+import com.skyapi.weatherforecast.LocationVersionRegistry;
 import com.skyapi.weatherforecast.common.Location;
-import com.skyapi.weatherforecast.daily.DailyWeatherController;
+import com.skyapi.weatherforecast.location.LocationNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.skyapi.weatherforecast.LinkTemplates.*;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @RestController
 @RequestMapping("/v1/full")
 public class FullWeatherController {
     private final FullWeatherService fullWeatherService;
     private final GeolocationService geolocationService;
-    private final ModelMapper modelMapper;
     private final FullWeatherModelAssembler modelAssembler;
+    private final FullWeatherResponseCache responseCache;
+    private final LocationVersionRegistry versionRegistry;
+    private final ObjectMapper objectMapper;
+    private final int batchMaxSize;
+    private final int batchChunkSize;
 
     public FullWeatherController(FullWeatherService fullWeatherService,
                                  GeolocationService geolocationService,
-                                 ModelMapper modelMapper,
-                                 FullWeatherModelAssembler modelAssembler) {
+                                 FullWeatherModelAssembler modelAssembler,
+                                 FullWeatherResponseCache responseCache,
+                                 LocationVersionRegistry versionRegistry,
+                                 ObjectMapper objectMapper,
+                                 @Value("${full.batch.max-size:500}") int batchMaxSize,
+                                 @Value("${full.batch.chunk-size:100}") int batchChunkSize) {
         this.fullWeatherService = fullWeatherService;
         this.geolocationService = geolocationService;
-        this.modelMapper = modelMapper;
         this.modelAssembler = modelAssembler;
+        this.responseCache = responseCache;
+        this.versionRegistry = versionRegistry;
+        this.objectMapper = objectMapper;
+        this.batchMaxSize = batchMaxSize;
+        this.batchChunkSize = batchChunkSize;
     }
 
 
@@ -38,19 +72,134 @@ public class FullWeatherController {
     public ResponseEntity<?> getFullWeatherByIPAddress(HttpServletRequest request) {
         String ipAddress = CommonUtility.getIPAddress(request);
         
-        Location locationFromIP = geolocationService.getLocation(ipAddress);
+        IPLocation locationFromIP = geolocationService.getLocation(ipAddress);
         Location locationInDB = fullWeatherService.getByLocation(locationFromIP);
+
+        if (CommonUtility.checkNotModified(ContentETags.full(locationInDB), -1)) {
+            return null;
+        }
+
         FullWeatherDTO dto = entity2DTO(locationInDB);
         return ResponseEntity.ok(modelAssembler.toModel(dto));
     }
 
+    /**
+     * The response cache holds the HAL rendering only, so requests that negotiate
+     * anything else (plain JSON, or nothing acceptable) take the regular path.
+     */
     @GetMapping("/{locationCode}")
-    public ResponseEntity<?> getFullWeatherByLocationCode(@PathVariable("locationCode") String locationCode) {
+    public ResponseEntity<?> getFullWeatherByLocationCode(@PathVariable("locationCode") String locationCode,
+                                                          WebRequest webRequest) {
+        if (!prefersHal(webRequest)) {
+            Location locationInDB = fullWeatherService.get(locationCode);
 
-        Location locationInDB = fullWeatherService.get(locationCode);
-        FullWeatherDTO dto = entity2DTO(locationInDB);
+            if (webRequest.checkNotModified(ContentETags.full(locationInDB))) {
+                return null;
+            }
+
+            return ResponseEntity.ok(addLinksByLocation(entity2DTO(locationInDB), locationCode));
+        }
+
+        String baseUri = linkTo(FullWeatherController.class).toUri().toString();
+        FullWeatherResponseCache.RenderedResponse response = responseCache.get(locationCode, baseUri);
+
+        if (response == null) {
+            long version = versionRegistry.getVersion(locationCode);
+            Location locationInDB = fullWeatherService.get(locationCode);
+            FullWeatherDTO dto = entity2DTO(locationInDB);
+
+            response = responseCache.put(locationCode, baseUri, version, addLinksByLocation(dto, locationCode));
+        }
+
+        if (webRequest.checkNotModified(response.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .contentType(MediaTypes.HAL_JSON)
+                .body(response.body());
+    }
+
+    private static boolean prefersHal(WebRequest webRequest) {
+        List<MediaType> acceptedTypes;
+
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(webRequest.getHeader(HttpHeaders.ACCEPT));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+
+        if (acceptedTypes.isEmpty()) {
+            return true;
+        }
+
+        MimeTypeUtils.sortBySpecificity(acceptedTypes);
+
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.getQualityValue() == 0) {
+                continue;
+            }
+            if (acceptedType.includes(MediaTypes.HAL_JSON)) {
+                return true;
+            }
+            if (acceptedType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+        }
 
-        return ResponseEntity.ok(addLinksByLocation(dto, locationCode));
+        return false;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> getFullWeatherBatch(@RequestBody List<String> locationCodes)
+            throws BadRequestException {
+        if (locationCodes.isEmpty()) {
+            throw new BadRequestException("Location codes cannot be empty.");
+        }
+        if (locationCodes.size() > batchMaxSize) {
+            throw new BadRequestException("At most " + batchMaxSize + " location codes are allowed per batch.");
+        }
+
+        List<String> codes = new ArrayList<>(new LinkedHashSet<>(locationCodes));
+
+        StreamingResponseBody body = outputStream -> writeBatch(codes, outputStream);
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private void writeBatch(List<String> codes, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartArray();
+
+            for (int from = 0; from < codes.size(); from += batchChunkSize) {
+                List<String> chunk = codes.subList(from, Math.min(from + batchChunkSize, codes.size()));
+
+                Map<String, Location> locations = fullWeatherService.getByCodes(chunk).stream()
+                        .collect(Collectors.toMap(Location::getCode, Function.identity()));
+
+                for (String code : chunk) {
+                    Location location = locations.get(code);
+
+                    generator.writeStartObject();
+                    generator.writeStringField("location_code", code);
+
+                    if (location == null) {
+                        generator.writeNumberField("status", HttpStatus.NOT_FOUND.value());
+                        generator.writeStringField("error", new LocationNotFoundException(code).getMessage());
+                    } else {
+                        generator.writeNumberField("status", HttpStatus.OK.value());
+                        generator.writeObjectField("full_weather", entity2DTO(location));
+                    }
+
+                    generator.writeEndObject();
+                }
+
+                generator.flush();
+            }
+
+            generator.writeEndArray();
+        }
     }
 
     @PutMapping("/{locationCode}")
@@ -70,23 +219,16 @@ public class FullWeatherController {
     }
 
     private FullWeatherDTO entity2DTO(Location location) {
-        FullWeatherDTO dto = modelMapper.map(location, FullWeatherDTO.class);
-
-        // Hide the location field in the realtime_weather object
-        dto.getRealtimeWeather().setLocation(null);
-
-        return dto;
+        return FullWeatherMapper.toDTO(location);
     }
 
     private Location dto2Entity(FullWeatherDTO dto) {
-        return modelMapper.map(dto, Location.class);
+        return FullWeatherMapper.toEntity(dto);
     }
 
     private EntityModel<FullWeatherDTO> addLinksByLocation(FullWeatherDTO dto, String locationCode) {
         return EntityModel.of(dto)
-                .add(linkTo(
-                        methodOn(FullWeatherController.class).getFullWeatherByLocationCode(locationCode))
-                        .withSelfRel());
+                .add(link(FULL_BY_CODE, locationCode).withSelfRel());
     }
 
 }
@@ -0,0 +1,52 @@
+package com.skyapi.weatherforecast.full;
+
+import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.common.RealtimeWeather;
+import com.skyapi.weatherforecast.daily.DailyWeatherMapper;
+import com.skyapi.weatherforecast.hourly.HourlyWeatherMapper;
+import com.skyapi.weatherforecast.realtime.RealtimeWeatherDTO;
+import com.skyapi.weatherforecast.realtime.RealtimeWeatherMapper;
+
+/**
+ * Conversion between a Location with all its weather data and FullWeatherDTO.
+ */
+public final class FullWeatherMapper {
+
+    private FullWeatherMapper() {
+    }
+
+    /**
+     * The realtime weather is rendered without its location, which is already
+     * given at the top level. A location without realtime weather keeps the empty
+     * RealtimeWeatherDTO, which RealtimeWeatherFieldFilter leaves out.
+     */
+    public static FullWeatherDTO toDTO(Location location) {
+        FullWeatherDTO dto = new FullWeatherDTO();
+        dto.setLocation(location.toString());
+
+        RealtimeWeather realtimeWeather = location.getRealtimeWeather();
+        if (realtimeWeather != null) {
+            RealtimeWeatherDTO realtimeDTO = RealtimeWeatherMapper.toDTO(realtimeWeather);
+            realtimeDTO.setLocation(null);
+            dto.setRealtimeWeather(realtimeDTO);
+        }
+
+        dto.setListHourlyWeather(HourlyWeatherMapper.toDTOs(location.getListHourlyWeather()));
+        dto.setListDailyWeather(DailyWeatherMapper.toDTOs(location.getListDailyWeather()));
+
+        return dto;
+    }
+
+    public static Location toEntity(FullWeatherDTO dto) {
+        Location location = new Location();
+
+        if (dto.getRealtimeWeather() != null) {
+            location.setRealtimeWeather(RealtimeWeatherMapper.toEntity(dto.getRealtimeWeather()));
+        }
+
+        location.setListHourlyWeather(HourlyWeatherMapper.toEntities(dto.getListHourlyWeather()));
+        location.setListDailyWeather(DailyWeatherMapper.toEntities(dto.getListDailyWeather()));
+
+        return location;
+    }
+}
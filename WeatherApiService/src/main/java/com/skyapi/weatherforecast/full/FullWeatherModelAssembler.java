@@ -4,8 +4,7 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static com.skyapi.weatherforecast.LinkTemplates.*;
 
 @Component
 public class FullWeatherModelAssembler
@@ -14,9 +13,7 @@ public class FullWeatherModelAssembler
     public EntityModel<FullWeatherDTO> toModel(FullWeatherDTO dto) {
         EntityModel<FullWeatherDTO> entityModel = EntityModel.of(dto);
 
-        entityModel.add(linkTo(
-                methodOn(FullWeatherController.class).getFullWeatherByIPAddress(null))
-                .withSelfRel());
+        entityModel.add(link(FULL_BY_IP).withSelfRel());
         return entityModel;
     }
 
@@ -0,0 +1,131 @@
+package com.skyapi.weatherforecast.full;
+
+import com.skyapi.weatherforecast.BoundedCache;
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
+import com.skyapi.weatherforecast.LocationVersionRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Holds the rendered HAL body of GET /v1/full/{locationCode} per location code,
+ * together with its ETag. Entries are dropped when the location's data changes.
+ * Each entry remembers the location version it was rendered from, so a body
+ * loaded before a concurrent update is neither stored nor served afterwards.
+ */
+@Component
+public class FullWeatherResponseCache {
+    private final BoundedCache<String, RenderedResponse> responses;
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+    private final LocationVersionRegistry versionRegistry;
+    private volatile HttpMessageConverter<Object> halConverter;
+
+    public FullWeatherResponseCache(@Value("${full.cache.max-size:10000}") int maxSize,
+                                    @Value("${full.cache.ttl-seconds:600}") long ttlSeconds,
+                                    ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter,
+                                    LocationVersionRegistry versionRegistry) {
+        this.responses = new BoundedCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.handlerAdapter = handlerAdapter;
+        this.versionRegistry = versionRegistry;
+    }
+
+    /**
+     * Returns the cached response, or null if there is none, it was rendered
+     * for a different base URI (links in the body are absolute) or from an
+     * older version of the location.
+     */
+    public RenderedResponse get(String locationCode, String baseUri) {
+        RenderedResponse response = responses.get(locationCode);
+
+        return response != null && response.baseUri().equals(baseUri)
+                && response.version() == versionRegistry.getVersion(locationCode) ? response : null;
+    }
+
+    /**
+     * Renders the model and caches it, unless the location has changed since
+     * loadedVersion was read, i.e. the model may already be stale.
+     */
+    public RenderedResponse put(String locationCode, String baseUri, long loadedVersion,
+                                EntityModel<FullWeatherDTO> model) {
+        byte[] body = render(model);
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+
+        RenderedResponse response = new RenderedResponse(baseUri, body, etag, loadedVersion);
+
+        if (versionRegistry.getVersion(locationCode) == loadedVersion) {
+            responses.put(locationCode, response);
+        }
+
+        return response;
+    }
+
+    public void evict(String locationCode) {
+        responses.evict(locationCode);
+    }
+
+    public void clear() {
+        responses.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationDataChanged(LocationDataChangedEvent event) {
+        evict(event.locationCode());
+    }
+
+    private byte[] render(EntityModel<FullWeatherDTO> model) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(4096);
+        HttpHeaders headers = new HttpHeaders();
+
+        try {
+            getHalConverter().write(model, MediaTypes.HAL_JSON, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return outputStream;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Uses the same HAL converter as Spring MVC, so cached bodies are identical
+     * to what the controller would otherwise write.
+     */
+    @SuppressWarnings("unchecked")
+    private HttpMessageConverter<Object> getHalConverter() {
+        if (halConverter == null) {
+            halConverter = handlerAdapter.getObject().getMessageConverters().stream()
+                    .filter(converter -> converter.canWrite(EntityModel.class, MediaTypes.HAL_JSON))
+                    .map(converter -> (HttpMessageConverter<Object>) converter)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No HAL message converter registered"));
+        }
+
+        return halConverter;
+    }
+
+    public record RenderedResponse(String baseUri, byte[] body, String etag, long version) {
+    }
+}
@@ -1,36 +1,99 @@
 package com.skyapi.weatherforecast.full;
 
 import com.skyapi.weatherforecast.AbstractLocationService;
+import com.skyapi.weatherforecast.IPLocation;
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
 import com.skyapi.weatherforecast.common.DailyWeather;
 import com.skyapi.weatherforecast.common.HourlyWeather;
 import com.skyapi.weatherforecast.common.Location;
 import com.skyapi.weatherforecast.common.RealtimeWeather;
+import com.skyapi.weatherforecast.location.LocationCodeIndex;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
 import com.skyapi.weatherforecast.location.LocationRepository;
 import com.skyapi.weatherforecast.realtime.RealtimeWeatherRepository;
 import com.skyapi.weatherforecast.realtime.RealtimeWeatherService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
 @Service
 public class FullWeatherService extends AbstractLocationService {
-    public FullWeatherService(LocationRepository locationRepository) {
+    private final LocationCodeIndex locationCodeIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FullWeatherService(LocationRepository locationRepository,
+                              LocationCodeIndex locationCodeIndex,
+                              ApplicationEventPublisher eventPublisher) {
         super();
         this.locationRepository = locationRepository;
+        this.locationCodeIndex = locationCodeIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Loads the location with all of its weather data in two queries. Hourly and
+     * daily forecasts are fetched separately since Hibernate cannot join-fetch two
+     * bags at once; the second query fills in the same managed instance.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Location get(String code) {
+        Location location = locationRepository.findWithRealtimeAndHourlyWeatherByCode(code);
+
+        if (location == null) {
+            throw new LocationNotFoundException(code);
+        }
+
+        locationRepository.findWithDailyWeatherByCode(code);
+
+        return location;
     }
 
-    public Location getByLocation(Location locationFromIP) {
-        String countryCode = locationFromIP.getCountryCode();
-        String cityName = locationFromIP.getCityName();
+    /**
+     * Loads the given locations with all of their weather data, using the same two
+     * queries as {@link #get(String)} but with IN lists. Codes that are not found
+     * are simply missing from the result.
+     */
+    @Transactional(readOnly = true)
+    public List<Location> getByCodes(Collection<String> codes) {
+        List<Location> locations = locationRepository.findWithRealtimeAndHourlyWeatherByCodeIn(codes);
+
+        if (!locations.isEmpty()) {
+            locationRepository.findWithDailyWeatherByCodeIn(codes);
+        }
 
-        Location locationInDB = locationRepository.findByCountryCodeAndCityName(countryCode, cityName);
+        return locations;
+    }
+
+    @Transactional(readOnly = true)
+    public Location getByLocation(IPLocation locationFromIP) {
+        String countryCode = locationFromIP.countryCode();
+        String cityName = locationFromIP.cityName();
+        String locationCode = locationCodeIndex.findCode(countryCode, cityName);
+
+        Location locationInDB;
+
+        if (locationCode != null) {
+            locationInDB = locationRepository.findWithRealtimeAndHourlyWeatherByCode(locationCode);
+        } else {
+            long indexGeneration = locationCodeIndex.getGeneration();
+            locationInDB = locationRepository.findByCountryCodeAndCityName(countryCode, cityName);
+
+            if (locationInDB != null) {
+                locationCodeIndex.put(locationInDB, indexGeneration);
+            }
+        }
 
         if (locationInDB == null) {
             throw new LocationNotFoundException(countryCode, cityName);
         }
 
+        locationRepository.findWithDailyWeatherByCode(locationInDB.getCode());
+
         return locationInDB;
     }
 
@@ -47,7 +110,10 @@ public class FullWeatherService extends AbstractLocationService {
 
         locationInRequest.copyAllFieldsFrom(locationInDB);
 
-        return locationRepository.save(locationInRequest);
+        Location updatedLocation = locationRepository.save(locationInRequest);
+        eventPublisher.publishEvent(new LocationDataChangedEvent(locationCode));
+
+        return updatedLocation;
     }
 
     private void saveRealtimeWeatherIfNotExistBefore(Location locationInRequest, Location locationInDB) {
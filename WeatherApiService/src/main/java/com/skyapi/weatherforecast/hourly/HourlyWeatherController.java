@@ -2,27 +2,24 @@ package com.skyapi.weatherforecast.hourly;
 
 import com.skyapi.weatherforecast.BadRequestException;
 import com.skyapi.weatherforecast.CommonUtility;
+import com.skyapi.weatherforecast.ContentETags;
 import com.skyapi.weatherforecast.GeolocationException;
 import com.skyapi.weatherforecast.GeolocationService;
+import com.skyapi.weatherforecast.IPLocation;
 import com.skyapi.weatherforecast.common.HourlyWeather;
 import com.skyapi.weatherforecast.common.Location;
-import com.skyapi.weatherforecast.daily.DailyWeatherController;
-import com.skyapi.weatherforecast.full.FullWeatherController;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
-import com.skyapi.weatherforecast.realtime.RealtimeWeatherController;
 import com.skyapi.weatherforecast.realtime.RealtimeWeatherDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static com.skyapi.weatherforecast.CommonUtility.checkNotModified;
+import static com.skyapi.weatherforecast.LinkTemplates.*;
 
 @RestController
 @RequestMapping("/v1/hourly")
@@ -31,11 +28,10 @@ public class HourlyWeatherController {
 
     private final HourlyWeatherService hourlyWeatherService;
     private final GeolocationService geolocationService;
-    private final ModelMapper modelMapper;
-    public HourlyWeatherController(HourlyWeatherService hourlyWeatherService, GeolocationService geolocationService, ModelMapper modelMapper) {
+
+    public HourlyWeatherController(HourlyWeatherService hourlyWeatherService, GeolocationService geolocationService) {
         this.hourlyWeatherService = hourlyWeatherService;
         this.geolocationService = geolocationService;
-        this.modelMapper = modelMapper;
     }
 
     @GetMapping
@@ -44,7 +40,7 @@ public class HourlyWeatherController {
         try {
             int currentHour = Integer.parseInt(request.getHeader("X-Current-Hour"));
 
-            Location locationFromIP = geolocationService.getLocation(ipAddress);
+            IPLocation locationFromIP = geolocationService.getLocation(ipAddress);
 
             List<HourlyWeather> hourlyForecast = hourlyWeatherService.getByLocation(locationFromIP, currentHour);
 
@@ -52,6 +48,10 @@ public class HourlyWeatherController {
                return ResponseEntity.noContent().build();
             }
 
+            if (checkNotModified(ContentETags.hourly(hourlyForecast), -1)) {
+                return null;
+            }
+
             HourlyWeatherListDTO dto = listEntity2DTO(hourlyForecast);
 
             return ResponseEntity.ok(addLinksByIP(dto));
@@ -76,6 +76,11 @@ public class HourlyWeatherController {
             if (hourlyForecast.isEmpty()) {
                 return ResponseEntity.noContent().build();
             }
+
+            if (checkNotModified(ContentETags.hourly(hourlyForecast), -1)) {
+                return null;
+            }
+
             HourlyWeatherListDTO dto = listEntity2DTO(hourlyForecast);
 
             return ResponseEntity.ok(addLinksByLocation(dto, locationCode));
@@ -111,14 +116,7 @@ public class HourlyWeatherController {
     }
 
     private List<HourlyWeather> listDTO2ListEntity(List<HourlyWeatherDTO> listDTO) {
-        List<HourlyWeather> listEntity = new ArrayList<>();
-
-        listDTO.forEach(dto -> {
-            HourlyWeather hourlyForecast = modelMapper.map(dto, HourlyWeather.class);
-            listEntity.add(hourlyForecast);
-        });
-
-        return listEntity;
+        return HourlyWeatherMapper.toEntities(listDTO);
     }
 
     private HourlyWeatherListDTO listEntity2DTO(List<HourlyWeather> hourlyForecast) {
@@ -127,45 +125,26 @@ public class HourlyWeatherController {
         HourlyWeatherListDTO listDTO = new HourlyWeatherListDTO();
         listDTO.setLocation(location.toString());
 
-        hourlyForecast.forEach(hourlyWeather -> {
-            HourlyWeatherDTO dto = modelMapper.map(hourlyWeather, HourlyWeatherDTO.class);
-            listDTO.addWeatherHourlyDTO(dto);
-        });
+        hourlyForecast.forEach(hourlyWeather -> listDTO.addWeatherHourlyDTO(HourlyWeatherMapper.toDTO(hourlyWeather)));
 
         return listDTO;
     }
 
     private HourlyWeatherListDTO addLinksByIP(HourlyWeatherListDTO dto) {
 
-        dto.add(linkTo(
-                methodOn(HourlyWeatherController.class).listHourlyForecastByIPAddress(null))
-                .withSelfRel());
-        dto.add(linkTo(
-                methodOn(RealtimeWeatherController.class).getRealtimeWeatherByIPAddress(null))
-                .withRel("realtime_weather"));
-        dto.add(linkTo(
-                methodOn(DailyWeatherController.class).listDailyForecastByIPAddress(null))
-                .withRel("daily_forecast"));
-        dto.add(linkTo(
-                methodOn(FullWeatherController.class).getFullWeatherByIPAddress(null))
-                .withRel("full_forecast"));
+        dto.add(link(HOURLY_BY_IP).withSelfRel());
+        dto.add(link(REALTIME_BY_IP).withRel("realtime_weather"));
+        dto.add(link(DAILY_BY_IP).withRel("daily_forecast"));
+        dto.add(link(FULL_BY_IP).withRel("full_forecast"));
         return dto;
     }
 
     private HourlyWeatherListDTO addLinksByLocation(HourlyWeatherListDTO dto, String locationCode) {
 
-        dto.add(linkTo(
-                methodOn(HourlyWeatherController.class).listHourlyForecastByLocationCode(locationCode, null))
-                .withSelfRel());
-        dto.add(linkTo(
-                methodOn(RealtimeWeatherController.class).getRealtimeWeatherByLocationCode(locationCode))
-                .withRel("realtime_weather"));
-        dto.add(linkTo(
-                methodOn(DailyWeatherController.class).listDailyForecastByLocationCode(locationCode))
-                .withRel("daily_forecast"));
-        dto.add(linkTo(
-                methodOn(FullWeatherController.class).getFullWeatherByLocationCode(locationCode))
-                .withRel("full_forecast"));
+        dto.add(link(HOURLY_BY_CODE, locationCode).withSelfRel());
+        dto.add(link(REALTIME_BY_CODE, locationCode).withRel("realtime_weather"));
+        dto.add(link(DAILY_BY_CODE, locationCode).withRel("daily_forecast"));
+        dto.add(link(FULL_BY_CODE, locationCode).withRel("full_forecast"));
         return dto;
     }
 }
@@ -2,6 +2,7 @@ package com.skyapi.weatherforecast.hourly;
 
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.validation.constraints.NotBlank;
 import org.hibernate.validator.constraints.Length;
 import org.hibernate.validator.constraints.Range;
@@ -12,6 +13,7 @@ import org.hibernate.validator.constraints.Range;
         "precipitation",
         "status"
 })
+@JsonSerialize(using = HourlyWeatherDTOSerializer.class)
 public class HourlyWeatherDTO {
     @Range(min = 0, max = 23, message = "Hour of day must be in between 0-23")
     private int hourOfDay;
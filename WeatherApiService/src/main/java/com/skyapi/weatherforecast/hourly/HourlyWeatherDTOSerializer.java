@@ -0,0 +1,52 @@
+package com.skyapi.weatherforecast.hourly;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.skyapi.weatherforecast.SerializedNames;
+
+import java.io.IOException;
+
+/**
+ * Writes an hourly forecast straight to the generator, with the same field names
+ * and order as the bean serializer would produce. The names are resolved once per
+ * mapper, so they follow its naming strategy.
+ */
+public class HourlyWeatherDTOSerializer extends StdSerializer<HourlyWeatherDTO> implements ResolvableSerializer {
+    private SerializedString hourOfDayName;
+    private SerializedString temperatureName;
+    private SerializedString precipitationName;
+    private SerializedString statusName;
+
+    public HourlyWeatherDTOSerializer() {
+        super(HourlyWeatherDTO.class);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        SerializedNames names = SerializedNames.of(provider, HourlyWeatherDTO.class);
+
+        hourOfDayName = names.get("hourOfDay");
+        temperatureName = names.get("temperature");
+        precipitationName = names.get("precipitation");
+        statusName = names.get("status");
+    }
+
+    @Override
+    public void serialize(HourlyWeatherDTO dto, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(hourOfDayName);
+        generator.writeNumber(dto.getHourOfDay());
+        generator.writeFieldName(temperatureName);
+        generator.writeNumber(dto.getTemperature());
+        generator.writeFieldName(precipitationName);
+        generator.writeNumber(dto.getPrecipitation());
+        generator.writeFieldName(statusName);
+        generator.writeString(dto.getStatus());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,45 @@
+package com.skyapi.weatherforecast.hourly;
+
+import com.skyapi.weatherforecast.ForecastDiff;
+import com.skyapi.weatherforecast.common.HourlyWeather;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hourly key scheme for {@link ForecastDiff}: a row's slot is its hour of day,
+ * so a full day fits in 24 slots.
+ */
+final class HourlyWeatherDiff {
+    private static final int HOURS_PER_DAY = 24;
+
+    private HourlyWeatherDiff() {
+    }
+
+    static ForecastDiff<HourlyWeather> compute(List<HourlyWeather> existing, List<HourlyWeather> incoming) {
+        return ForecastDiff.compute(existing, incoming, HOURS_PER_DAY,
+                HourlyWeatherDiff::hourOf, HourlyWeatherDiff::hasSameValues, HourlyWeatherDiff::copyValues);
+    }
+
+    private static int hourOf(HourlyWeather hourlyWeather) {
+        int hour = hourlyWeather.getId().getHourOfDay();
+
+        if (hour < 0 || hour >= HOURS_PER_DAY) {
+            throw new IllegalArgumentException("Hour of day must be in between 0-23: " + hour);
+        }
+
+        return hour;
+    }
+
+    private static boolean hasSameValues(HourlyWeather stored, HourlyWeather incoming) {
+        return stored.getTemperature() == incoming.getTemperature()
+                && stored.getPrecipitation() == incoming.getPrecipitation()
+                && Objects.equals(stored.getStatus(), incoming.getStatus());
+    }
+
+    private static void copyValues(HourlyWeather stored, HourlyWeather incoming) {
+        stored.setTemperature(incoming.getTemperature());
+        stored.setPrecipitation(incoming.getPrecipitation());
+        stored.setStatus(incoming.getStatus());
+    }
+}
@@ -0,0 +1,52 @@
+package com.skyapi.weatherforecast.hourly;
+
+import com.skyapi.weatherforecast.common.HourlyWeather;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Field by field conversion between HourlyWeather and HourlyWeatherDTO. The
+ * location part of the id is left for the service to set.
+ */
+public final class HourlyWeatherMapper {
+
+    private HourlyWeatherMapper() {
+    }
+
+    public static HourlyWeatherDTO toDTO(HourlyWeather entity) {
+        HourlyWeatherDTO dto = new HourlyWeatherDTO();
+        dto.setHourOfDay(entity.getId().getHourOfDay());
+        dto.setTemperature(entity.getTemperature());
+        dto.setPrecipitation(entity.getPrecipitation());
+        dto.setStatus(entity.getStatus());
+
+        return dto;
+    }
+
+    public static HourlyWeather toEntity(HourlyWeatherDTO dto) {
+        HourlyWeather entity = new HourlyWeather();
+        entity.getId().setHourOfDay(dto.getHourOfDay());
+        entity.setTemperature(dto.getTemperature());
+        entity.setPrecipitation(dto.getPrecipitation());
+        entity.setStatus(dto.getStatus());
+
+        return entity;
+    }
+
+    public static List<HourlyWeatherDTO> toDTOs(List<HourlyWeather> entities) {
+        List<HourlyWeatherDTO> dtos = new ArrayList<>(entities.size());
+        for (HourlyWeather entity : entities) {
+            dtos.add(toDTO(entity));
+        }
+        return dtos;
+    }
+
+    public static List<HourlyWeather> toEntities(List<HourlyWeatherDTO> dtos) {
+        List<HourlyWeather> entities = new ArrayList<>(dtos.size());
+        for (HourlyWeatherDTO dto : dtos) {
+            entities.add(toEntity(dto));
+        }
+        return entities;
+    }
+}
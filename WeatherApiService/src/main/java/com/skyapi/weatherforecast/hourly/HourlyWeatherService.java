@@ -1,35 +1,58 @@
 package com.skyapi.weatherforecast.hourly;
 
+import com.skyapi.weatherforecast.ForecastDiff;
+import com.skyapi.weatherforecast.IPLocation;
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
 import com.skyapi.weatherforecast.common.HourlyWeather;
 import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.location.LocationCodeIndex;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
 import com.skyapi.weatherforecast.location.LocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 @Service
 public class HourlyWeatherService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HourlyWeatherService.class);
     private final HourlyWeaterRepository hourlyWeaterRepository;
     private final LocationRepository locationRepository;
+    private final LocationCodeIndex locationCodeIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public HourlyWeatherService(HourlyWeaterRepository hourlyWeaterRepository, LocationRepository locationRepository) {
+    public HourlyWeatherService(HourlyWeaterRepository hourlyWeaterRepository,
+                                LocationRepository locationRepository,
+                                LocationCodeIndex locationCodeIndex,
+                                ApplicationEventPublisher eventPublisher) {
         this.hourlyWeaterRepository = hourlyWeaterRepository;
         this.locationRepository = locationRepository;
+        this.locationCodeIndex = locationCodeIndex;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<HourlyWeather> getByLocation(Location location, int currentHour) throws LocationNotFoundException {
-        String countryCode = location.getCountryCode();
-        String cityName = location.getCityName();
+    public List<HourlyWeather> getByLocation(IPLocation location, int currentHour) throws LocationNotFoundException {
+        String countryCode = location.countryCode();
+        String cityName = location.cityName();
+        String locationCode = locationCodeIndex.findCode(countryCode, cityName);
 
+        if (locationCode != null) {
+            return hourlyWeaterRepository.findByLocationCode(locationCode, currentHour);
+        }
+
+        long indexGeneration = locationCodeIndex.getGeneration();
         Location locationInDB = locationRepository.findByCountryCodeAndCityName(countryCode, cityName);
 
         if(locationInDB == null) {
             throw new LocationNotFoundException("No location found with the given county code and city name");
         }
 
+        locationCodeIndex.put(locationInDB, indexGeneration);
+
         return hourlyWeaterRepository.findByLocationCode(locationInDB.getCode(), currentHour);
     }
 
@@ -44,6 +67,12 @@ public class HourlyWeatherService {
         return hourlyWeaterRepository.findByLocationCode(locationInDB.getCode(), currentHour);
     }
 
+    /**
+     * Replaces the hourly forecast of a location, writing only the rows that were
+     * added, changed or removed. New rows are cascaded from the location, which
+     * avoids the SELECT that merging a composite key entity would cost.
+     */
+    @Transactional
     public List<HourlyWeather> updateByLocationCode(String locationCode,
                                                     List<HourlyWeather> hourlyWeatherInRequest) throws LocationNotFoundException {
         Location location = locationRepository.findByCode(locationCode);
@@ -57,18 +86,17 @@ public class HourlyWeatherService {
         }
 
         List<HourlyWeather> hourlyWeatherInDB = location.getListHourlyWeather();
-        List<HourlyWeather> hourlyWeatherToBeRemoved = new ArrayList<>();
+        ForecastDiff<HourlyWeather> diff = HourlyWeatherDiff.compute(hourlyWeatherInDB, hourlyWeatherInRequest);
 
-        for (HourlyWeather item : hourlyWeatherInDB) {
-            if (!hourlyWeatherInRequest.contains(item)) {
-                hourlyWeatherToBeRemoved.add(item.getShallowCopy());
-            }
-        }
+        LOGGER.debug("Hourly forecast update for {}: {}", locationCode, diff);
+
+        if (!diff.isEmpty()) {
+            hourlyWeatherInDB.removeIf(diff::isDeleted);
+            hourlyWeatherInDB.addAll(diff.getInserts());
 
-        for (HourlyWeather item : hourlyWeatherToBeRemoved) {
-            hourlyWeatherInDB.remove(item);
+            eventPublisher.publishEvent(new LocationDataChangedEvent(locationCode));
         }
 
-        return (List<HourlyWeather>) hourlyWeaterRepository.saveAll(hourlyWeatherInRequest);
+        return diff.getResult();
     }
 }
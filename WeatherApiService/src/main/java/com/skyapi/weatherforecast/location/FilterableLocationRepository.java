@@ -3,10 +3,31 @@ package com.skyapi.weatherforecast.location;
 import com.skyapi.weatherforecast.common.Location;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import java.util.List;
 import java.util.Map;
 
 public interface FilterableLocationRepository {
 
     Page<Location> listWithFilter(Pageable pageable, Map<String, Object> filterFields);
+
+    List<Location> findWithFilter(Pageable pageable, Map<String, Object> filterFields);
+
+    long countWithFilter(Map<String, Object> filterFields);
+
+    /**
+     * Returns an estimate of the untrashed locations: the row count of the locations
+     * table from the database statistics less an exact count of the trashed rows, or
+     * -1 if no statistics are available. Ignores filters, so it only stands in for
+     * the total of an unfiltered listing.
+     */
+    long estimateUntrashedRows();
+
+    /**
+     * Keyset variant of listWithFilter: returns up to size rows that come after the
+     * given sort key values (or the first rows if null), without counting.
+     */
+    Slice<Location> listWithFilterAfter(Sort sort, Map<String, Object> filterFields, List<Object> lastValues, int size);
 }
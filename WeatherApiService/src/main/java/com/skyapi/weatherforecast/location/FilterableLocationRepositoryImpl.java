@@ -1,24 +1,43 @@
 package com.skyapi.weatherforecast.location;
 
+import com.skyapi.weatherforecast.BoundedCache;
 import com.skyapi.weatherforecast.common.Location;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class FilterableLocationRepositoryImpl implements FilterableLocationRepository{
 
 
+    private static final Set<String> ALLOWED_PROPERTIES =
+            Set.of("code", "cityName", "regionName", "countryCode", "countryName", "enabled");
+
+    private static final String LIST_SELECT = "SELECT new com.skyapi.weatherforecast.common.Location("
+            + "l.code, l.cityName, l.regionName, l.countryName, l.countryCode, l.enabled) FROM Location l";
+
+    private static final String COUNT_SELECT = "SELECT COUNT(l) FROM Location l";
+
+    private static final int QUERY_PLAN_CACHE_SIZE = 256;
+
     private final EntityManager entityManager;
+    private final BoundedCache<QueryPlanKey, String> listQueries = new BoundedCache<>(QUERY_PLAN_CACHE_SIZE, Duration.ZERO);
+    private final BoundedCache<QueryPlanKey, String> countQueries = new BoundedCache<>(QUERY_PLAN_CACHE_SIZE, Duration.ZERO);
 
     public FilterableLocationRepositoryImpl(EntityManager entityManager) {
         this.entityManager = entityManager;
@@ -26,45 +45,113 @@ public class FilterableLocationRepositoryImpl implements FilterableLocationRepos
 
     @Override
     public Page<Location> listWithFilter(Pageable pageable, Map<String, Object> filterFields) {
+        List<Location> listResult = findWithFilter(pageable, filterFields);
+
+        return PageableExecutionUtils.getPage(listResult, pageable, () -> countWithFilter(filterFields));
+    }
+
+    @Override
+    public List<Location> findWithFilter(Pageable pageable, Map<String, Object> filterFields) {
+        List<String> filterKeys = sortedKeys(filterFields);
+        String jpql = getListQuery(filterKeys, pageable.getSort());
+
+        TypedQuery<Location> typedQuery = entityManager.createQuery(jpql, Location.class);
+        filterKeys.forEach(key -> typedQuery.setParameter(key, filterFields.get(key)));
 
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize());
+
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public Slice<Location> listWithFilterAfter(Sort sort, Map<String, Object> filterFields,
+                                               List<Object> lastValues, int size) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<Location> entityQuery = builder.createQuery(Location.class);
-
         Root<Location> entityRoot = entityQuery.from(Location.class);
+
         entityQuery.select(builder.construct(Location.class,
                 entityRoot.get("code"), entityRoot.get("cityName"),
                 entityRoot.get("regionName"), entityRoot.get("countryName"),
                 entityRoot.get("countryCode"), entityRoot.get("enabled")
-                ));
+        ));
+
+        List<Predicate> predicates = new ArrayList<>(List.of(createPredicates(filterFields, builder, entityRoot)));
 
-        Predicate[] predicates = createPredicates(filterFields, builder, entityRoot);
-        if (predicates.length > 0) {
-            entityQuery.where(predicates);
+        if (lastValues != null) {
+            predicates.add(createSeekPredicate(sort, lastValues, builder, entityRoot));
         }
 
+        entityQuery.where(predicates.toArray(new Predicate[0]));
+        entityQuery.orderBy(createOrders(sort, builder, entityRoot));
+
+        TypedQuery<Location> typedQuery = entityManager.createQuery(entityQuery);
+        typedQuery.setMaxResults(size + 1);
+
+        List<Location> listResult = typedQuery.getResultList();
+        boolean hasNext = listResult.size() > size;
+
+        if (hasNext) {
+            listResult = new ArrayList<>(listResult.subList(0, size));
+        }
+
+        return new SliceImpl<>(listResult, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    private List<Order> createOrders(Sort sort, CriteriaBuilder builder, Root<Location> root) {
         List<Order> listOrder = new ArrayList<>();
 
-        pageable.getSort().stream().forEach(order -> {
-            System.out.println("Order field: " + order.getProperty());
+        sort.stream().forEach(order -> {
             if (order.isAscending()) {
-                listOrder.add(builder.asc(entityRoot.get(order.getProperty())));
+                listOrder.add(builder.asc(root.get(order.getProperty())));
             } else {
-                listOrder.add(builder.desc(entityRoot.get(order.getProperty())));
+                listOrder.add(builder.desc(root.get(order.getProperty())));
             }
         });
 
-        entityQuery.orderBy(listOrder);
+        return listOrder;
+    }
 
-        TypedQuery<Location> typedQuery = entityManager.createQuery(entityQuery);
+    /**
+     * Builds (a > x) OR (a = x AND b > y) OR ... for the sort columns, where "greater"
+     * follows each column's direction and MySQL's ordering of NULLs before values.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate createSeekPredicate(Sort sort, List<Object> lastValues, CriteriaBuilder builder,
+                                          Root<Location> root) {
+        List<Sort.Order> orders = sort.toList();
 
-        typedQuery.setFirstResult((int) pageable.getOffset());
-        typedQuery.setMaxResults(pageable.getPageSize());
+        if (orders.size() != lastValues.size()) {
+            throw new IllegalArgumentException("Expected " + orders.size() + " sort values but got " + lastValues.size());
+        }
 
-        List<Location> listResult = typedQuery.getResultList();
+        Predicate seek = builder.disjunction();
+        Predicate equalSoFar = builder.conjunction();
+
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            Expression<Comparable> path = root.get(order.getProperty());
+            Comparable value = (Comparable) lastValues.get(i);
+
+            Predicate after;
+            Predicate equal;
 
-        long totalRows = getTotalRows(filterFields);
+            if (value == null) {
+                equal = builder.isNull(path);
+                after = order.isAscending() ? builder.isNotNull(path) : builder.disjunction();
+            } else {
+                equal = builder.equal(path, value);
+                after = order.isAscending()
+                        ? builder.greaterThan(path, value)
+                        : builder.or(builder.lessThan(path, value), builder.isNull(path));
+            }
 
-        return new PageImpl<>(listResult, pageable, totalRows);
+            seek = builder.or(seek, builder.and(equalSoFar, after));
+            equalSoFar = builder.and(equalSoFar, equal);
+        }
+
+        return seek;
     }
 
     private Predicate[] createPredicates(Map<String, Object> filterFields, CriteriaBuilder builder,
@@ -79,8 +166,6 @@ public class FilterableLocationRepositoryImpl implements FilterableLocationRepos
                 String fieldName = iterator.next();
                 Object filterValue = filterFields.get(fieldName);
 
-                System.out.println(fieldName + " => " + filterValue);
-
                 predicates[i++] = builder.equal(root.get(fieldName), filterValue);
             }
 
@@ -90,20 +175,97 @@ public class FilterableLocationRepositoryImpl implements FilterableLocationRepos
         return predicates;
     }
 
-    private long getTotalRows(Map<String, Object> filterFields) {
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Long> countQuery = builder.createQuery(Long.class);
+    @Override
+    public long countWithFilter(Map<String, Object> filterFields) {
+        List<String> filterKeys = sortedKeys(filterFields);
+        String jpql = getCountQuery(filterKeys);
+
+        TypedQuery<Long> countQuery = entityManager.createQuery(jpql, Long.class);
+        filterKeys.forEach(key -> countQuery.setParameter(key, filterFields.get(key)));
+
+        return countQuery.getSingleResult();
+    }
 
-        Root<Location> countRoot = countQuery.from(Location.class);
+    private static List<String> sortedKeys(Map<String, Object> filterFields) {
+        return filterFields.keySet().stream().sorted().toList();
+    }
 
-        countQuery.select(builder.count(countRoot));
+    /**
+     * Returns the JPQL of the filtered listing for the given filter keys and sort,
+     * building it once per combination. Property names are checked against
+     * ALLOWED_PROPERTIES because they end up in the query text.
+     */
+    String getListQuery(List<String> filterKeys, Sort sort) {
+        QueryPlanKey key = new QueryPlanKey(filterKeys, sort);
+        String jpql = listQueries.get(key);
 
-        Predicate[] predicates = createPredicates(filterFields, builder, countRoot);
+        if (jpql == null) {
+            StringBuilder builder = new StringBuilder(LIST_SELECT);
+            appendWhere(builder, filterKeys);
 
-        if (predicates.length > 0) {
-            countQuery.where(predicates);
+            String separator = " ORDER BY ";
+            for (Sort.Order order : sort) {
+                builder.append(separator).append("l.").append(checkProperty(order.getProperty()))
+                        .append(order.isAscending() ? " ASC" : " DESC");
+                separator = ", ";
+            }
+
+            jpql = builder.toString();
+            listQueries.put(key, jpql);
         }
 
-        return entityManager.createQuery(countQuery).getSingleResult();
+        return jpql;
+    }
+
+    String getCountQuery(List<String> filterKeys) {
+        QueryPlanKey key = new QueryPlanKey(filterKeys, Sort.unsorted());
+        String jpql = countQueries.get(key);
+
+        if (jpql == null) {
+            StringBuilder builder = new StringBuilder(COUNT_SELECT);
+            appendWhere(builder, filterKeys);
+
+            jpql = builder.toString();
+            countQueries.put(key, jpql);
+        }
+
+        return jpql;
+    }
+
+    private static void appendWhere(StringBuilder builder, List<String> filterKeys) {
+        builder.append(" WHERE l.trashed = false");
+
+        for (String filterKey : filterKeys) {
+            checkProperty(filterKey);
+            builder.append(" AND l.").append(filterKey).append(" = :").append(filterKey);
+        }
+    }
+
+    private static String checkProperty(String property) {
+        if (!ALLOWED_PROPERTIES.contains(property)) {
+            throw new IllegalArgumentException("Unsupported location property: " + property);
+        }
+        return property;
+    }
+
+    private record QueryPlanKey(List<String> filterKeys, Sort sort) {
+    }
+
+    @Override
+    public long estimateUntrashedRows() {
+        List<?> result = entityManager.createNativeQuery(
+                "SELECT TABLE_ROWS FROM information_schema.TABLES "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'locations'")
+                .getResultList();
+
+        if (result.isEmpty() || result.get(0) == null) {
+            return -1;
+        }
+
+        // trashed rows are few and sit at the front of idx_locations_trashed_enabled_country
+        long trashedRows = entityManager.createQuery(COUNT_SELECT + " WHERE l.trashed = true", Long.class)
+                .getSingleResult();
+
+        return Math.max(((Number) result.get(0)).longValue() - trashedRows, 0);
     }
 }
@@ -0,0 +1,116 @@
+package com.skyapi.weatherforecast.location;
+
+import com.skyapi.weatherforecast.common.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory (country code, city name) to location code mapping of all untrashed
+ * locations, so that IP based requests can find their location code without
+ * querying the locations table by name. Keys are lower-cased, matching the
+ * case-insensitive comparison of the database. Changes made by LocationService
+ * are applied after their transaction commits.
+ * <p>
+ * Callers that index a location they loaded themselves read getGeneration()
+ * before the query. If a key change is applied in the meantime, e.g. the location
+ * is trashed, their row may be stale and the put is undone.
+ */
+@Component
+public class LocationCodeIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationCodeIndex.class);
+
+    private final LocationRepository locationRepository;
+    private final Map<String, Map<String, String>> codesByCountry = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public LocationCodeIndex(LocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        long loadedGeneration = generation.get();
+        List<Location> locations = locationRepository.findUntrashedCodes();
+
+        codesByCountry.clear();
+        locations.forEach(location -> put(location, loadedGeneration));
+
+        LOGGER.info("Location code index loaded with {} locations", locations.size());
+    }
+
+    public String findCode(String countryCode, String cityName) {
+        if (countryCode == null || cityName == null) {
+            return null;
+        }
+
+        Map<String, String> codesByCity = codesByCountry.get(normalize(countryCode));
+
+        return codesByCity == null ? null : codesByCity.get(normalize(cityName));
+    }
+
+    public String findCode(Location location) {
+        return findCode(location.getCountryCode(), location.getCityName());
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Indexes a location that was loaded after reading the given generation.
+     */
+    public void put(Location location, long loadedGeneration) {
+        if (location.isTrashed()) {
+            return;
+        }
+
+        put(location.getCountryCode(), location.getCityName(), location.getCode());
+
+        // a key change applied since the load may already have removed this entry
+        if (generation.get() != loadedGeneration) {
+            remove(location.getCountryCode(), location.getCityName(), location.getCode());
+        }
+    }
+
+    private void put(String countryCode, String cityName, String code) {
+        if (countryCode == null || cityName == null) {
+            return;
+        }
+
+        codesByCountry.computeIfAbsent(normalize(countryCode), key -> new ConcurrentHashMap<>())
+                .put(normalize(cityName), code);
+    }
+
+    private void remove(String countryCode, String cityName, String code) {
+        if (countryCode == null || cityName == null) {
+            return;
+        }
+
+        Map<String, String> codesByCity = codesByCountry.get(normalize(countryCode));
+
+        if (codesByCity != null) {
+            codesByCity.remove(normalize(cityName), code);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationKeyChanged(LocationKeyChangedEvent event) {
+        generation.incrementAndGet();
+        remove(event.oldCountryCode(), event.oldCityName(), event.code());
+        put(event.newCountryCode(), event.newCityName(), event.code());
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,27 +1,27 @@
 package com.skyapi.weatherforecast.location;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skyapi.weatherforecast.BadRequestException;
 import com.skyapi.weatherforecast.common.HourlyWeather;
 import com.skyapi.weatherforecast.common.Location;
-import com.skyapi.weatherforecast.daily.DailyWeatherController;
-import com.skyapi.weatherforecast.full.FullWeatherController;
-import com.skyapi.weatherforecast.hourly.HourlyWeatherController;
-import com.skyapi.weatherforecast.realtime.RealtimeWeatherController;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.PagedModel.PageMetadata;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import static com.skyapi.weatherforecast.LinkTemplates.*;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
@@ -35,8 +35,10 @@ import java.util.stream.Collectors;
 @RequestMapping("/v1/locations")
 @Validated
 public class LocationController {
+    public static final String TOTAL_COUNT_APPROXIMATE_HEADER = "X-Total-Count-Approximate";
+
     private final LocationService locationService;
-    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
 
     private Map<String, String> propertyMap = Map.of(
             "code", "code",
@@ -47,9 +49,9 @@ public class LocationController {
             "enabled", "enabled"
     );
 
-    public LocationController(LocationService locationService, ModelMapper modelMapper) {
+    public LocationController(LocationService locationService, ObjectMapper objectMapper) {
         this.locationService = locationService;
-        this.modelMapper = modelMapper;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -80,14 +82,21 @@ public class LocationController {
             @RequestParam(value = "sort", required = false, defaultValue = "code") String sortOption,
             @RequestParam(value = "enabled", required = false, defaultValue = "") String enabled,
             @RequestParam(value = "region_name", required = false, defaultValue = "") String regionName,
-            @RequestParam(value = "country_code", required = false, defaultValue = "") String countryCode
+            @RequestParam(value = "country_code", required = false, defaultValue = "") String countryCode,
+            @RequestParam(value = "cursor", required = false) String cursor
             ) throws BadRequestException {
 
+        String requestedSortOption = sortOption;
         sortOption = validateSortOption(sortOption);
 
 
         Map<String, Object> filterFields = getFilterFields(enabled, regionName, countryCode);
 
+        if (cursor != null) {
+            return listLocationsByCursor(cursor, pageSize, requestedSortOption, sortOption, filterFields,
+                    enabled, regionName, countryCode);
+        }
+
         Page<Location> page = locationService.listByPage(pageNum - 1, pageSize, sortOption, filterFields);
 
         List<Location> locations = page.getContent();
@@ -96,10 +105,91 @@ public class LocationController {
             return ResponseEntity.noContent().build();
         }
 
-        return ResponseEntity.ok(addPageMetadataAndLinks2Collection(
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+
+        if (page instanceof LocationPage locationPage && locationPage.isTotalApproximate()) {
+            responseBuilder.header(TOTAL_COUNT_APPROXIMATE_HEADER, "true");
+        }
+
+        return responseBuilder.body(addPageMetadataAndLinks2Collection(
                 listEntity2ListDTO(locations), page, sortOption, enabled, regionName, countryCode));
     }
 
+    /**
+     * Keyset mode of listLocations: an empty cursor starts from the beginning, any other
+     * value must be a token from a previous next link with the same sort option.
+     * Links and cursors carry the sort option as the client sent it (API field names);
+     * the translated one (entity property names) is only passed to the service.
+     */
+    private ResponseEntity<?> listLocationsByCursor(String cursor, int pageSize, String requestedSortOption,
+                                                    String sortOption, Map<String, Object> filterFields,
+                                                    String enabled, String regionName,
+                                                    String countryCode) throws BadRequestException {
+        List<Object> lastValues = null;
+
+        if (!cursor.isEmpty()) {
+            LocationCursor decodedCursor = LocationCursor.decode(cursor);
+
+            if (decodedCursor == null || !decodedCursor.getSortOption().equals(requestedSortOption)) {
+                throw new BadRequestException("invalid cursor: " + cursor);
+            }
+
+            lastValues = decodedCursor.getValues();
+        }
+
+        Slice<Location> slice;
+
+        try {
+            slice = locationService.listByCursor(pageSize, sortOption, filterFields, lastValues);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("invalid cursor: " + cursor);
+        }
+
+        List<Location> locations = slice.getContent();
+
+        if (locations.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+
+        String actualEnabled = "".equals(enabled) ? null : enabled;
+        String actualRegionName = "".equals(regionName) ? null : regionName;
+        String actualCountryCode = "".equals(countryCode) ? null : countryCode;
+
+        List<LocationDTO> listDTO = listEntity2ListDTO(locations);
+
+        for (LocationDTO dto: listDTO) {
+            dto.add(link(LOCATION_BY_CODE, dto.getCode()).withSelfRel());
+        }
+
+        CollectionModel<LocationDTO> collectionModel = CollectionModel.of(listDTO);
+
+        collectionModel.add(linkTo(methodOn(LocationController.class)
+                .listLocations(null, pageSize, requestedSortOption, actualEnabled, actualRegionName, actualCountryCode, cursor))
+                .withSelfRel());
+
+        if (slice.hasNext()) {
+            Location last = locations.get(locations.size() - 1);
+            String nextCursor = LocationCursor.after(requestedSortOption, slice.getSort(), last).encode();
+
+            collectionModel.add(linkTo(methodOn(LocationController.class)
+                    .listLocations(null, pageSize, requestedSortOption, actualEnabled, actualRegionName, actualCountryCode, nextCursor))
+                    .withRel(IanaLinkRelations.NEXT));
+        }
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLocations() {
+        StreamingResponseBody body = outputStream -> {
+            try (LocationExportWriter writer = new LocationExportWriter(objectMapper.getFactory(), outputStream)) {
+                locationService.exportUntrashed(writer::write);
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     private static Map<String, Object> getFilterFields(String enabled, String regionName, String countryCode) {
         Map<String, Object> filterFields = new HashMap<>();
 
@@ -154,7 +244,7 @@ public class LocationController {
 
         // add self link to each individual item
         for (LocationDTO dto: listDTO) {
-            dto.add(linkTo(methodOn(LocationController.class).getLocation(dto.getCode())).withSelfRel());
+            dto.add(link(LOCATION_BY_CODE, dto.getCode()).withSelfRel());
         }
 
         int pageNum = pageInfo.getNumber() + 1;
@@ -169,20 +259,20 @@ public class LocationController {
 
         // add self links to collection
         collectionModel.add(linkTo(methodOn(LocationController.class)
-                .listLocations(pageNum, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode))
+                .listLocations(pageNum, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode, null))
                 .withSelfRel());
 
         if (pageNum > 1) {
             // add link to first page if the current page is not the first one
             collectionModel.add(
                     linkTo(methodOn(LocationController.class)
-                            .listLocations(1, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode))
+                            .listLocations(1, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode, null))
                             .withRel(IanaLinkRelations.FIRST));
 
             // add link to the previous page if the current page is not the first one
             collectionModel.add(
                     linkTo(methodOn(LocationController.class)
-                            .listLocations(pageNum - 1, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode))
+                            .listLocations(pageNum - 1, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode, null))
                             .withRel(IanaLinkRelations.PREV));
         }
 
@@ -190,13 +280,13 @@ public class LocationController {
             // add link to next page if the current page is not the last one
             collectionModel.add(
                     linkTo(methodOn(LocationController.class)
-                            .listLocations(pageNum + 1, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode))
+                            .listLocations(pageNum + 1, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode, null))
                             .withRel(IanaLinkRelations.NEXT));
 
             // add link to last page if the current page is not the last one
             collectionModel.add(
                     linkTo(methodOn(LocationController.class)
-                            .listLocations(totalPages, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode))
+                            .listLocations(totalPages, pageSize, sortField, actualEnabled, actualRegionName, actualCountryCode, null))
                             .withRel(IanaLinkRelations.LAST));
         }
 
@@ -230,34 +320,24 @@ public class LocationController {
     }
 
     private LocationDTO entity2DTO(Location entity)  {
-        return modelMapper.map(entity, LocationDTO.class);
+        return LocationMapper.toDTO(entity);
     }
 
     private Location dto2Entity(LocationDTO dto) {
-        return modelMapper.map(dto, Location.class);
+        return LocationMapper.toEntity(dto);
     }
 
     private LocationDTO addLinks2Item(LocationDTO dto) {
 
-        dto.add(linkTo(
-                methodOn(LocationController.class).getLocation(dto.getCode()))
-                .withSelfRel());
+        dto.add(link(LOCATION_BY_CODE, dto.getCode()).withSelfRel());
 
-        dto.add(linkTo(
-                methodOn(RealtimeWeatherController.class).getRealtimeWeatherByLocationCode(dto.getCode()))
-                .withRel("realtime_weather"));
+        dto.add(link(REALTIME_BY_CODE, dto.getCode()).withRel("realtime_weather"));
 
-        dto.add(linkTo(
-                methodOn(HourlyWeatherController.class).listHourlyForecastByLocationCode(dto.getCode(), null))
-                .withRel("hourly_forecast"));
+        dto.add(link(HOURLY_BY_CODE, dto.getCode()).withRel("hourly_forecast"));
 
-        dto.add(linkTo(
-                methodOn(DailyWeatherController.class).listDailyForecastByLocationCode(dto.getCode()))
-                .withRel("daily_forecast"));
+        dto.add(link(DAILY_BY_CODE, dto.getCode()).withRel("daily_forecast"));
 
-        dto.add(linkTo(
-                methodOn(FullWeatherController.class).getFullWeatherByLocationCode(dto.getCode()))
-                .withRel("full_forecast"));
+        dto.add(link(FULL_BY_CODE, dto.getCode()).withRel("full_forecast"));
 
         return dto;
     }
@@ -0,0 +1,56 @@
+package com.skyapi.weatherforecast.location;
+
+import com.skyapi.weatherforecast.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Total row counts of filtered location listings, keyed by the filter fields.
+ * Any location write clears the whole cache, since a single change can move a
+ * location in or out of many filters.
+ */
+@Component
+public class LocationCountCache {
+    private final BoundedCache<Map<String, Object>, Long> counts;
+
+    public LocationCountCache(@Value("${location.count.cache.max-size:1000}") int maxSize,
+                              @Value("${location.count.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.counts = new BoundedCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Returns the cached count for the given filters, running the counter and
+     * caching its result on a miss.
+     */
+    public long getTotalRows(Map<String, Object> filterFields, LongSupplier counter) {
+        Map<String, Object> key = Map.copyOf(filterFields);
+        Long cachedCount = counts.get(key);
+
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+
+        long count = counter.getAsLong();
+        counts.put(key, count);
+
+        return count;
+    }
+
+    public void clear() {
+        counts.clear();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationListChanged(LocationListChangedEvent event) {
+        clear();
+    }
+}
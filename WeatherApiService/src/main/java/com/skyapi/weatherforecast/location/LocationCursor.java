@@ -0,0 +1,120 @@
+package com.skyapi.weatherforecast.location;
+
+import com.skyapi.weatherforecast.common.Location;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Continuation token for keyset pagination: the sort spec of the listing and the
+ * sort key values of the last row returned. Encoded as URL-safe Base64 so that
+ * clients treat it as opaque.
+ */
+public final class LocationCursor {
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte BOOLEAN_VALUE = 2;
+
+    private final String sortOption;
+    private final List<Object> values;
+
+    private LocationCursor(String sortOption, List<Object> values) {
+        this.sortOption = sortOption;
+        this.values = values;
+    }
+
+    public static LocationCursor after(String sortOption, Sort sort, Location lastLocation) {
+        List<Object> values = new ArrayList<>();
+
+        for (Sort.Order order : sort) {
+            values.add(getSortValue(lastLocation, order.getProperty()));
+        }
+
+        return new LocationCursor(sortOption, values);
+    }
+
+    static Object getSortValue(Location location, String property) {
+        return switch (property) {
+            case "code" -> location.getCode();
+            case "cityName" -> location.getCityName();
+            case "regionName" -> location.getRegionName();
+            case "countryCode" -> location.getCountryCode();
+            case "countryName" -> location.getCountryName();
+            case "enabled" -> location.isEnabled();
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + property);
+        };
+    }
+
+    /**
+     * Returns the decoded cursor, or null if the token is malformed.
+     */
+    public static LocationCursor decode(String token) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token);
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+
+            String sortOption = input.readUTF();
+            int count = input.readUnsignedByte();
+            List<Object> values = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                byte type = input.readByte();
+
+                switch (type) {
+                    case NULL_VALUE -> values.add(null);
+                    case STRING_VALUE -> values.add(input.readUTF());
+                    case BOOLEAN_VALUE -> values.add(input.readBoolean());
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+
+            return input.available() == 0 ? new LocationCursor(sortOption, values) : null;
+        } catch (IllegalArgumentException | IOException ex) {
+            return null;
+        }
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(sortOption);
+            output.writeByte(values.size());
+
+            for (Object value : values) {
+                if (value == null) {
+                    output.writeByte(NULL_VALUE);
+                } else if (value instanceof Boolean booleanValue) {
+                    output.writeByte(BOOLEAN_VALUE);
+                    output.writeBoolean(booleanValue);
+                } else {
+                    output.writeByte(STRING_VALUE);
+                    output.writeUTF(value.toString());
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public String getSortOption() {
+        return sortOption;
+    }
+
+    public List<Object> getValues() {
+        return Collections.unmodifiableList(values);
+    }
+}
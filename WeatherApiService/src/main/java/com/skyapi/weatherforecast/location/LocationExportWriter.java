@@ -0,0 +1,52 @@
+package com.skyapi.weatherforecast.location;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.skyapi.weatherforecast.common.Location;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes locations as newline-delimited JSON, one object per line, field by field
+ * and without building any intermediate objects, so memory use does not grow with
+ * the number of rows written.
+ */
+public class LocationExportWriter implements Closeable {
+    private final JsonGenerator generator;
+    private long count;
+
+    public LocationExportWriter(JsonFactory jsonFactory, OutputStream outputStream) throws IOException {
+        this.generator = jsonFactory.createGenerator(outputStream);
+    }
+
+    public void write(Location location) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("code", location.getCode());
+            generator.writeStringField("city_name", location.getCityName());
+            if (location.getRegionName() != null) {
+                generator.writeStringField("region_name", location.getRegionName());
+            }
+            generator.writeStringField("country_code", location.getCountryCode());
+            generator.writeStringField("country_name", location.getCountryName());
+            generator.writeBooleanField("enabled", location.isEnabled());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            count++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.skyapi.weatherforecast.location;
+
+/**
+ * Published when the (country code, city name) key of a location is added,
+ * changed or removed. The old key is null for an added location, the new key
+ * is null for a trashed one.
+ */
+public record LocationKeyChangedEvent(String code,
+                                      String oldCountryCode, String oldCityName,
+                                      String newCountryCode, String newCityName) {
+}
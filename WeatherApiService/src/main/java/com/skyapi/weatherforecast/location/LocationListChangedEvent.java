@@ -0,0 +1,8 @@
+package com.skyapi.weatherforecast.location;
+
+/**
+ * Published when a location is added, updated or trashed, i.e. whenever the
+ * result of a location listing may change. Weather updates do not publish it.
+ */
+public record LocationListChangedEvent(String locationCode) {
+}
@@ -0,0 +1,36 @@
+package com.skyapi.weatherforecast.location;
+
+import com.skyapi.weatherforecast.common.Location;
+
+/**
+ * Field by field conversion between Location and LocationDTO.
+ */
+public final class LocationMapper {
+
+    private LocationMapper() {
+    }
+
+    public static LocationDTO toDTO(Location entity) {
+        LocationDTO dto = new LocationDTO();
+        dto.setCode(entity.getCode());
+        dto.setCityName(entity.getCityName());
+        dto.setRegionName(entity.getRegionName());
+        dto.setCountryName(entity.getCountryName());
+        dto.setCountryCode(entity.getCountryCode());
+        dto.setEnabled(entity.isEnabled());
+
+        return dto;
+    }
+
+    public static Location toEntity(LocationDTO dto) {
+        Location entity = new Location();
+        entity.setCode(dto.getCode());
+        entity.setCityName(dto.getCityName());
+        entity.setRegionName(dto.getRegionName());
+        entity.setCountryName(dto.getCountryName());
+        entity.setCountryCode(dto.getCountryCode());
+        entity.setEnabled(dto.isEnabled());
+
+        return entity;
+    }
+}
@@ -1,14 +1,20 @@
 package com.skyapi.weatherforecast.location;
 
 import com.skyapi.weatherforecast.common.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LocationRepository extends JpaRepository<Location, String>, FilterableLocationRepository {
@@ -21,13 +27,53 @@ public interface LocationRepository extends JpaRepository<Location, String>, Fil
     @Deprecated
     Page<Location> findUntrashed(Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT l FROM Location l WHERE l.code = ?1 AND l.trashed = false")
     Location findByCode(String code);
 
+    @EntityGraph(attributePaths = {"realtimeWeather", "listHourlyWeather"})
+    @Query("SELECT l FROM Location l WHERE l.code = ?1 AND l.trashed = false")
+    Location findWithRealtimeAndHourlyWeatherByCode(String code);
+
+    @Query("SELECT l FROM Location l LEFT JOIN FETCH l.listDailyWeather WHERE l.code = ?1 AND l.trashed = false")
+    Location findWithDailyWeatherByCode(String code);
+
+    @EntityGraph(attributePaths = {"realtimeWeather", "listHourlyWeather"})
+    @Query("SELECT l FROM Location l WHERE l.code IN ?1 AND l.trashed = false")
+    List<Location> findWithRealtimeAndHourlyWeatherByCodeIn(Collection<String> codes);
+
+    @Query("SELECT l FROM Location l LEFT JOIN FETCH l.listDailyWeather WHERE l.code IN ?1 AND l.trashed = false")
+    List<Location> findWithDailyWeatherByCodeIn(Collection<String> codes);
+
+    @Query("SELECT l FROM Location l LEFT JOIN FETCH l.realtimeWeather WHERE l.code IN ?1 AND l.trashed = false")
+    List<Location> findWithRealtimeWeatherByCodeIn(Collection<String> codes);
+
     @Modifying
     @Query("UPDATE Location l SET l.trashed = true WHERE l.code = ?1 ")
     void trashByCode(String code);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT l FROM Location l WHERE l.countryCode = ?1 AND l.cityName =?2 AND l.trashed = false")
     Location findByCountryCodeAndCityName(String countryCode, String cityName);
+
+    @Query("""
+            SELECT new Location(l.code, l.cityName, l.regionName, l.countryName, l.countryCode)
+            FROM Location l WHERE l.trashed = false
+            """)
+    List<Location> findUntrashedCodes();
+
+    /**
+     * Streams untrashed locations through a forward-only cursor. A fetch size of
+     * Integer.MIN_VALUE makes MySQL Connector/J stream rows one by one instead of
+     * reading the whole result set into memory. Must be consumed in a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new Location(l.code, l.cityName, l.regionName, l.countryName, l.countryCode, l.enabled)
+            FROM Location l WHERE l.trashed = false ORDER BY l.code
+            """)
+    Stream<Location> streamUntrashed();
 }
@@ -1,10 +1,14 @@
 package com.skyapi.weatherforecast.location;
 
 import com.skyapi.weatherforecast.AbstractLocationService;
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
 import com.skyapi.weatherforecast.common.Location;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -12,18 +16,41 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class LocationService extends AbstractLocationService {
-
-    public LocationService(LocationRepository locationRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final LocationCountCache locationCountCache;
+    private final boolean estimatedCount;
+
+    public LocationService(LocationRepository locationRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           LocationCountCache locationCountCache,
+                           @Value("${location.count.estimated:false}") boolean estimatedCount) {
         super();
         this.locationRepository = locationRepository;
+        this.eventPublisher = eventPublisher;
+        this.locationCountCache = locationCountCache;
+        this.estimatedCount = estimatedCount;
     }
 
     public Location add(Location location) {
-        return locationRepository.save(location);
+        Location addedLocation = locationRepository.save(location);
+        eventPublisher.publishEvent(new LocationKeyChangedEvent(addedLocation.getCode(), null, null,
+                addedLocation.getCountryCode(), addedLocation.getCityName()));
+        eventPublisher.publishEvent(new LocationListChangedEvent(addedLocation.getCode()));
+
+        return addedLocation;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportUntrashed(Consumer<Location> consumer) {
+        try (Stream<Location> locations = locationRepository.streamUntrashed()) {
+            locations.forEach(consumer);
+        }
     }
 
     @Deprecated
@@ -47,7 +74,45 @@ public class LocationService extends AbstractLocationService {
 
         Pageable pageable = PageRequest.of(pageNum, pageSize, sort);
 
-        return locationRepository.listWithFilter(pageable, filterFields);
+        List<Location> content = locationRepository.findWithFilter(pageable, filterFields);
+
+        // a partial page (other than an empty page past the end) gives the exact total for free
+        if (content.size() < pageSize && (pageable.getOffset() == 0 || !content.isEmpty())) {
+            return new LocationPage(content, pageable, pageable.getOffset() + content.size(), false);
+        }
+
+        // the estimate covers the whole table, so filtered listings always count
+        if (estimatedCount && filterFields.isEmpty()) {
+            long estimatedTotal = locationRepository.estimateUntrashedRows();
+
+            if (estimatedTotal >= 0) {
+                long total = Math.max(estimatedTotal, pageable.getOffset() + content.size());
+                return new LocationPage(content, pageable, total, true);
+            }
+        }
+
+        long total = locationCountCache.getTotalRows(filterFields,
+                () -> locationRepository.countWithFilter(filterFields));
+
+        return new LocationPage(content, pageable, total, false);
+    }
+
+    /**
+     * Keyset pagination: lists the rows after the given sort key values, or the first
+     * page if lastValues is null. The code is appended as a tie-breaker so that the
+     * sort order is total.
+     */
+    public Slice<Location> listByCursor(int pageSize,
+                                        String sortOption,
+                                        Map<String, Object> filterFields,
+                                        List<Object> lastValues) {
+        Sort sort = createMultipleSorts(sortOption);
+
+        if (sort.getOrderFor("code") == null) {
+            sort = sort.and(Sort.by("code").ascending());
+        }
+
+        return locationRepository.listWithFilterAfter(sort, filterFields, lastValues, pageSize);
     }
 
     private Sort createMultipleSorts(String sortOption) {
@@ -83,9 +148,18 @@ public class LocationService extends AbstractLocationService {
             throw new LocationNotFoundException(code);
         }
 
+        String oldCountryCode = locationInDB.getCountryCode();
+        String oldCityName = locationInDB.getCityName();
+
         locationInDB.copyFieldsFrom(locationInRequest);
 
-        return locationRepository.save(locationInDB);
+        Location updatedLocation = locationRepository.save(locationInDB);
+        eventPublisher.publishEvent(new LocationKeyChangedEvent(code, oldCountryCode, oldCityName,
+                updatedLocation.getCountryCode(), updatedLocation.getCityName()));
+        eventPublisher.publishEvent(new LocationDataChangedEvent(code));
+        eventPublisher.publishEvent(new LocationListChangedEvent(code));
+
+        return updatedLocation;
     }
 
     public void delete(String code){
@@ -95,5 +169,9 @@ public class LocationService extends AbstractLocationService {
         }
 
         locationRepository.trashByCode(code);
+        eventPublisher.publishEvent(new LocationKeyChangedEvent(code, location.getCountryCode(),
+                location.getCityName(), null, null));
+        eventPublisher.publishEvent(new LocationDataChangedEvent(code));
+        eventPublisher.publishEvent(new LocationListChangedEvent(code));
     }
 }
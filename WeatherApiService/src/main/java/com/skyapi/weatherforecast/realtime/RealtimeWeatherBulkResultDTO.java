@@ -0,0 +1,64 @@
+package com.skyapi.weatherforecast.realtime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@JsonPropertyOrder({"total", "succeeded", "failed", "elapsed_millis", "items_per_second", "items"})
+public class RealtimeWeatherBulkResultDTO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long elapsedMillis;
+    private double itemsPerSecond;
+    private List<Item> items = new ArrayList<>();
+
+    public void addItem(String locationCode, int status, String error) {
+        items.add(new Item(locationCode, status, error));
+        total++;
+
+        if (status < 300) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getItemsPerSecond() {
+        return itemsPerSecond;
+    }
+
+    public void setItemsPerSecond(double itemsPerSecond) {
+        this.itemsPerSecond = itemsPerSecond;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(String locationCode, int status, String error) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.skyapi.weatherforecast.realtime;
+
+import com.skyapi.weatherforecast.BoundedCache;
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
+import com.skyapi.weatherforecast.LocationVersionRegistry;
+import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.common.RealtimeWeather;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache of realtime weather per location code. Entries are immutable
+ * snapshots, so every hit hands out a new detached RealtimeWeather. Each snapshot
+ * remembers the location version it was loaded at and is not served once the
+ * version has moved on, whatever order the after-commit listeners run in.
+ */
+@Component
+public class RealtimeWeatherCache {
+    private final BoundedCache<String, Snapshot> snapshots;
+    private final Timer stalenessTimer;
+    private final LocationVersionRegistry versionRegistry;
+
+    public RealtimeWeatherCache(@Value("${realtime.cache.max-size:10000}") int maxSize,
+                                @Value("${realtime.cache.ttl-seconds:300}") long ttlSeconds,
+                                MeterRegistry meterRegistry,
+                                LocationVersionRegistry versionRegistry) {
+        this.snapshots = new BoundedCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.versionRegistry = versionRegistry;
+
+        Gauge.builder("realtime.cache.size", snapshots, BoundedCache::size)
+                .register(meterRegistry);
+        Gauge.builder("realtime.cache.hit.ratio", snapshots, BoundedCache::getHitRatio)
+                .register(meterRegistry);
+        FunctionCounter.builder("realtime.cache.evictions", snapshots, BoundedCache::getEvictionCount)
+                .register(meterRegistry);
+        this.stalenessTimer = Timer.builder("realtime.cache.staleness")
+                .description("Age of cached realtime weather entries when they are served")
+                .register(meterRegistry);
+    }
+
+    public RealtimeWeather get(String locationCode) {
+        Snapshot snapshot = snapshots.get(locationCode);
+
+        if (snapshot == null) {
+            return null;
+        }
+
+        if (snapshot.version() != versionRegistry.getVersion(locationCode)) {
+            snapshots.evict(locationCode);
+            return null;
+        }
+
+        stalenessTimer.record(System.nanoTime() - snapshot.cachedAt(), TimeUnit.NANOSECONDS);
+
+        return snapshot.toRealtimeWeather();
+    }
+
+    /**
+     * Caches the row, which must have been loaded after loadedVersion was read
+     * from the LocationVersionRegistry.
+     */
+    public void put(RealtimeWeather realtimeWeather, long loadedVersion) {
+        snapshots.put(realtimeWeather.getLocationCode(), Snapshot.of(realtimeWeather, loadedVersion));
+    }
+
+    public void evict(String locationCode) {
+        snapshots.evict(locationCode);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationDataChanged(LocationDataChangedEvent event) {
+        evict(event.locationCode());
+    }
+
+    private record Snapshot(String code, String cityName, String regionName, String countryName,
+                            String countryCode, int temperature, int humidity, int precipitation,
+                            int windSpeed, String status, long lastUpdated, long version, long cachedAt) {
+
+        static Snapshot of(RealtimeWeather realtimeWeather, long version) {
+            Location location = realtimeWeather.getLocation();
+            Date lastUpdated = realtimeWeather.getLastUpdated();
+
+            return new Snapshot(location.getCode(), location.getCityName(), location.getRegionName(),
+                    location.getCountryName(), location.getCountryCode(), realtimeWeather.getTemperature(),
+                    realtimeWeather.getHumidity(), realtimeWeather.getPrecipitation(),
+                    realtimeWeather.getWindSpeed(), realtimeWeather.getStatus(),
+                    lastUpdated != null ? lastUpdated.getTime() : -1, version, System.nanoTime());
+        }
+
+        RealtimeWeather toRealtimeWeather() {
+            RealtimeWeather realtimeWeather = new RealtimeWeather();
+            realtimeWeather.setLocation(new Location(code, cityName, regionName, countryName, countryCode));
+            realtimeWeather.setTemperature(temperature);
+            realtimeWeather.setHumidity(humidity);
+            realtimeWeather.setPrecipitation(precipitation);
+            realtimeWeather.setWindSpeed(windSpeed);
+            realtimeWeather.setStatus(status);
+            realtimeWeather.setLastUpdated(lastUpdated >= 0 ? new Date(lastUpdated) : null);
+
+            return realtimeWeather;
+        }
+    }
+}
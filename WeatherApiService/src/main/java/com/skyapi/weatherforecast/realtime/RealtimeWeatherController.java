@@ -1,24 +1,37 @@
 package com.skyapi.weatherforecast.realtime;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyapi.weatherforecast.BadRequestException;
+import com.skyapi.weatherforecast.ContentETags;
 import com.skyapi.weatherforecast.GeolocationException;
 import com.skyapi.weatherforecast.GeolocationService;
-import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.IPLocation;
 import com.skyapi.weatherforecast.common.RealtimeWeather;
-import com.skyapi.weatherforecast.daily.DailyWeatherController;
-import com.skyapi.weatherforecast.full.FullWeatherController;
-import com.skyapi.weatherforecast.hourly.HourlyWeatherController;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.skyapi.weatherforecast.CommonUtility.checkNotModified;
 import static com.skyapi.weatherforecast.CommonUtility.getIPAddress;
+import static com.skyapi.weatherforecast.LinkTemplates.*;
 
 @RestController
 @RequestMapping("/v1/realtime")
@@ -26,20 +39,34 @@ public class RealtimeWeatherController {
     private static final Logger LOGGER = LoggerFactory.getLogger(RealtimeWeatherController.class);
     private final RealtimeWeatherService realtimeWeatherService;
     private final GeolocationService geolocationService;
-    private final ModelMapper modelMapper;
-    public RealtimeWeatherController(RealtimeWeatherService realtimeWeatherService, GeolocationService geolocationService, ModelMapper modelMapper) {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int bulkMaxSize;
+    private final int bulkChunkSize;
+
+    public RealtimeWeatherController(RealtimeWeatherService realtimeWeatherService, GeolocationService geolocationService,
+                                     ObjectMapper objectMapper, Validator validator,
+                                     @Value("${realtime.bulk.max-size:1000}") int bulkMaxSize,
+                                     @Value("${realtime.bulk.chunk-size:100}") int bulkChunkSize) {
         this.realtimeWeatherService = realtimeWeatherService;
         this.geolocationService = geolocationService;
-        this.modelMapper = modelMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.bulkMaxSize = bulkMaxSize;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     @GetMapping
     public ResponseEntity<?> getRealtimeWeatherByIPAddress(HttpServletRequest request) {
         String ipAddress = getIPAddress(request);
         try {
-            Location locationFromIP = geolocationService.getLocation(ipAddress);
+            IPLocation locationFromIP = geolocationService.getLocation(ipAddress);
             RealtimeWeather realtimeWeather = realtimeWeatherService.getByLocation(locationFromIP);
 
+            if (checkNotModified(ContentETags.realtime(realtimeWeather), getLastModified(realtimeWeather))) {
+                return null;
+            }
+
             RealtimeWeatherDTO dto = entity2DTO(realtimeWeather);
 
             return ResponseEntity.ok(addLinksByIP(dto));
@@ -56,11 +83,19 @@ public class RealtimeWeatherController {
             @PathVariable("locationCode") String locationCode) {
         RealtimeWeather realtimeWeather = realtimeWeatherService.getByLocationCode(locationCode);
 
+        if (checkNotModified(ContentETags.realtime(realtimeWeather), getLastModified(realtimeWeather))) {
+            return null;
+        }
+
         RealtimeWeatherDTO dto = entity2DTO(realtimeWeather);
 
         return ResponseEntity.ok(addLinksByLocation(dto, locationCode));
     }
 
+    private static long getLastModified(RealtimeWeather realtimeWeather) {
+        return realtimeWeather.getLastUpdated() != null ? realtimeWeather.getLastUpdated().getTime() : -1;
+    }
+
     @PutMapping("/{locationCode}")
     public ResponseEntity<?> updateRealtimeWeather(
             @PathVariable("locationCode") String locationCode,
@@ -76,45 +111,125 @@ public class RealtimeWeatherController {
         return ResponseEntity.ok(addLinksByLocation(updatedDto, locationCode));
     }
 
+    /**
+     * Accepts either a JSON array or newline-delimited JSON objects, at most
+     * realtime.bulk.max-size of them. Valid observations are stored in chunks of
+     * realtime.bulk.chunk-size, each in its own transaction.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> ingestRealtimeWeather(HttpServletRequest request) throws IOException, BadRequestException {
+        long startTime = System.nanoTime();
+
+        List<RealtimeWeatherObservationDTO> observations = readObservations(request.getInputStream());
+
+        if (observations.isEmpty()) {
+            throw new BadRequestException("Realtime weather observations cannot be empty.");
+        }
+
+        List<String> errors = new ArrayList<>(observations.size());
+        List<RealtimeWeather> validObservations = new ArrayList<>(observations.size());
+
+        for (RealtimeWeatherObservationDTO observation : observations) {
+            Set<ConstraintViolation<RealtimeWeatherObservationDTO>> violations = validator.validate(observation);
+
+            if (violations.isEmpty()) {
+                errors.add(null);
+                validObservations.add(observation2Entity(observation));
+            } else {
+                errors.add(violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+
+        List<HttpStatus> statuses = new ArrayList<>(validObservations.size());
+
+        for (int from = 0; from < validObservations.size(); from += bulkChunkSize) {
+            List<RealtimeWeather> chunk = validObservations.subList(from,
+                    Math.min(from + bulkChunkSize, validObservations.size()));
+            statuses.addAll(realtimeWeatherService.updateAll(chunk));
+        }
+
+        RealtimeWeatherBulkResultDTO result = new RealtimeWeatherBulkResultDTO();
+        int validIndex = 0;
+
+        for (int i = 0; i < observations.size(); i++) {
+            String locationCode = observations.get(i).getLocationCode();
+            String error = errors.get(i);
+
+            if (error != null) {
+                result.addItem(locationCode, HttpStatus.BAD_REQUEST.value(), error);
+                continue;
+            }
+
+            HttpStatus status = statuses.get(validIndex++);
+            result.addItem(locationCode, status.value(),
+                    status == HttpStatus.NOT_FOUND ? new LocationNotFoundException(locationCode).getMessage() : null);
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setItemsPerSecond(observations.size() * 1_000_000_000.0 / Math.max(elapsedNanos, 1));
+
+        return ResponseEntity.ok(result);
+    }
+
+    private List<RealtimeWeatherObservationDTO> readObservations(InputStream inputStream)
+            throws IOException, BadRequestException {
+        List<RealtimeWeatherObservationDTO> observations = new ArrayList<>();
+
+        try (MappingIterator<RealtimeWeatherObservationDTO> iterator = objectMapper
+                .readerFor(RealtimeWeatherObservationDTO.class)
+                .readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                if (observations.size() == bulkMaxSize) {
+                    throw new BadRequestException("At most " + bulkMaxSize + " observations are allowed per request.");
+                }
+                observations.add(iterator.nextValue());
+            }
+        } catch (JsonProcessingException ex) {
+            throw new BadRequestException("Malformed realtime weather observations: " + ex.getOriginalMessage());
+        }
+
+        return observations;
+    }
+
+    private RealtimeWeather observation2Entity(RealtimeWeatherObservationDTO observation) {
+        RealtimeWeather realtimeWeather = new RealtimeWeather();
+        realtimeWeather.setLocationCode(observation.getLocationCode());
+        realtimeWeather.setTemperature(observation.getTemperature());
+        realtimeWeather.setHumidity(observation.getHumidity());
+        realtimeWeather.setPrecipitation(observation.getPrecipitation());
+        realtimeWeather.setWindSpeed(observation.getWindSpeed());
+        realtimeWeather.setStatus(observation.getStatus());
+
+        return realtimeWeather;
+    }
+
     private RealtimeWeatherDTO entity2DTO(RealtimeWeather updatedRealtimeWeather) {
-        return modelMapper.map(updatedRealtimeWeather, RealtimeWeatherDTO.class);
+        return RealtimeWeatherMapper.toDTO(updatedRealtimeWeather);
     }
 
     private RealtimeWeather dto2Entity(RealtimeWeatherDTO dto) {
-        return modelMapper.map(dto, RealtimeWeather.class);
+        return RealtimeWeatherMapper.toEntity(dto);
     }
 
     private RealtimeWeatherDTO addLinksByIP(RealtimeWeatherDTO dto) {
 
-        dto.add(linkTo(
-                        methodOn(RealtimeWeatherController.class).getRealtimeWeatherByIPAddress(null))
-                            .withSelfRel());
-        dto.add(linkTo(
-                        methodOn(HourlyWeatherController.class).listHourlyForecastByIPAddress(null))
-                            .withRel("hourly_forecast"));
-        dto.add(linkTo(
-                methodOn(DailyWeatherController.class).listDailyForecastByIPAddress(null))
-                .withRel("daily_forecast"));
-        dto.add(linkTo(
-                methodOn(FullWeatherController.class).getFullWeatherByIPAddress(null))
-                .withRel("full_forecast"));
+        dto.add(link(REALTIME_BY_IP).withSelfRel());
+        dto.add(link(HOURLY_BY_IP).withRel("hourly_forecast"));
+        dto.add(link(DAILY_BY_IP).withRel("daily_forecast"));
+        dto.add(link(FULL_BY_IP).withRel("full_forecast"));
         return dto;
     }
 
     private RealtimeWeatherDTO addLinksByLocation(RealtimeWeatherDTO dto, String locationCode) {
 
-        dto.add(linkTo(
-                methodOn(RealtimeWeatherController.class).getRealtimeWeatherByLocationCode(locationCode))
-                .withSelfRel());
-        dto.add(linkTo(
-                methodOn(HourlyWeatherController.class).listHourlyForecastByLocationCode(locationCode, null))
-                .withRel("hourly_forecast"));
-        dto.add(linkTo(
-                methodOn(DailyWeatherController.class).listDailyForecastByLocationCode(locationCode))
-                .withRel("daily_forecast"));
-        dto.add(linkTo(
-                methodOn(FullWeatherController.class).getFullWeatherByLocationCode(locationCode))
-                .withRel("full_forecast"));
+        dto.add(link(REALTIME_BY_CODE, locationCode).withSelfRel());
+        dto.add(link(HOURLY_BY_CODE, locationCode).withRel("hourly_forecast"));
+        dto.add(link(DAILY_BY_CODE, locationCode).withRel("daily_forecast"));
+        dto.add(link(FULL_BY_CODE, locationCode).withRel("full_forecast"));
         return dto;
     }
 }
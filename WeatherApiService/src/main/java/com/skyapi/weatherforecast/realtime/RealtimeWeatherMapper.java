@@ -0,0 +1,41 @@
+package com.skyapi.weatherforecast.realtime;
+
+import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.common.RealtimeWeather;
+
+/**
+ * Field by field conversion between RealtimeWeather and RealtimeWeatherDTO.
+ * The location is rendered as its display name and never read back.
+ */
+public final class RealtimeWeatherMapper {
+
+    private RealtimeWeatherMapper() {
+    }
+
+    public static RealtimeWeatherDTO toDTO(RealtimeWeather entity) {
+        RealtimeWeatherDTO dto = new RealtimeWeatherDTO();
+        Location location = entity.getLocation();
+
+        dto.setLocation(location != null ? location.toString() : null);
+        dto.setTemperature(entity.getTemperature());
+        dto.setHumidity(entity.getHumidity());
+        dto.setPrecipitation(entity.getPrecipitation());
+        dto.setWindSpeed(entity.getWindSpeed());
+        dto.setStatus(entity.getStatus());
+        dto.setLastUpdated(entity.getLastUpdated());
+
+        return dto;
+    }
+
+    public static RealtimeWeather toEntity(RealtimeWeatherDTO dto) {
+        RealtimeWeather entity = new RealtimeWeather();
+        entity.setTemperature(dto.getTemperature());
+        entity.setHumidity(dto.getHumidity());
+        entity.setPrecipitation(dto.getPrecipitation());
+        entity.setWindSpeed(dto.getWindSpeed());
+        entity.setStatus(dto.getStatus());
+        entity.setLastUpdated(dto.getLastUpdated());
+
+        return entity;
+    }
+}
@@ -0,0 +1,75 @@
+package com.skyapi.weatherforecast.realtime;
+
+import jakarta.validation.constraints.NotBlank;
+import org.hibernate.validator.constraints.Length;
+import org.hibernate.validator.constraints.Range;
+
+public class RealtimeWeatherObservationDTO {
+
+    @NotBlank(message = "Location code must not be empty")
+    private String locationCode;
+
+    @Range(min = -50, max = 50, message = "Temperature must be in range of -50 to 50 Celsius degree")
+    private int temperature;
+
+    @Range(min = 0, max = 100, message = "Humidity must be in range of 0 to 100 percentage")
+    private int humidity;
+
+    @Range(min = 0, max = 100, message = "Precipitation must be in range of 0 to 100 percentage")
+    private int precipitation;
+
+    @Range(min = 0, max = 200, message = "Wind speed must be in range of 0 to 200 km/h")
+    private int windSpeed;
+
+    @NotBlank(message = "Status must not be empty")
+    @Length(min = 3, max = 50, message = "Status must be in between 3-50 characters")
+    private String status;
+
+    public String getLocationCode() {
+        return locationCode;
+    }
+
+    public void setLocationCode(String locationCode) {
+        this.locationCode = locationCode;
+    }
+
+    public int getTemperature() {
+        return temperature;
+    }
+
+    public void setTemperature(int temperature) {
+        this.temperature = temperature;
+    }
+
+    public int getHumidity() {
+        return humidity;
+    }
+
+    public void setHumidity(int humidity) {
+        this.humidity = humidity;
+    }
+
+    public int getPrecipitation() {
+        return precipitation;
+    }
+
+    public void setPrecipitation(int precipitation) {
+        this.precipitation = precipitation;
+    }
+
+    public int getWindSpeed() {
+        return windSpeed;
+    }
+
+    public void setWindSpeed(int windSpeed) {
+        this.windSpeed = windSpeed;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -1,29 +1,68 @@
 package com.skyapi.weatherforecast.realtime;
 
+import com.skyapi.weatherforecast.IPLocation;
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
+import com.skyapi.weatherforecast.LocationVersionRegistry;
 import com.skyapi.weatherforecast.common.Location;
 import com.skyapi.weatherforecast.common.RealtimeWeather;
+import com.skyapi.weatherforecast.location.LocationCodeIndex;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
 import com.skyapi.weatherforecast.location.LocationRepository;
 import jakarta.persistence.PrePersist;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class RealtimeWeatherService {
     private final RealtimeWeatherRepository realtimeWeatherRepository;
     private final LocationRepository locationRepository;
-
-    public RealtimeWeatherService(RealtimeWeatherRepository realtimeWeatherRepository, LocationRepository locationRepository) {
+    private final LocationCodeIndex locationCodeIndex;
+    private final RealtimeWeatherCache realtimeWeatherCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LocationVersionRegistry versionRegistry;
+
+    public RealtimeWeatherService(RealtimeWeatherRepository realtimeWeatherRepository,
+                                  LocationRepository locationRepository,
+                                  LocationCodeIndex locationCodeIndex,
+                                  RealtimeWeatherCache realtimeWeatherCache,
+                                  ApplicationEventPublisher eventPublisher,
+                                  LocationVersionRegistry versionRegistry) {
         this.realtimeWeatherRepository = realtimeWeatherRepository;
         this.locationRepository = locationRepository;
+        this.locationCodeIndex = locationCodeIndex;
+        this.realtimeWeatherCache = realtimeWeatherCache;
+        this.eventPublisher = eventPublisher;
+        this.versionRegistry = versionRegistry;
     }
 
-    public RealtimeWeather getByLocation(Location location) {
-        String countryCode = location.getCountryCode();
-        String cityName = location.getCityName();
+    public RealtimeWeather getByLocation(IPLocation location) {
+        String countryCode = location.countryCode();
+        String cityName = location.cityName();
+        String locationCode = locationCodeIndex.findCode(countryCode, cityName);
+
+        RealtimeWeather realtimeWeather;
 
-        RealtimeWeather realtimeWeather = realtimeWeatherRepository.findByCountryCodeAndCityName(countryCode, cityName);
+        if (locationCode != null) {
+            realtimeWeather = findByLocationCode(locationCode);
+        } else {
+            long indexGeneration = locationCodeIndex.getGeneration();
+            realtimeWeather = realtimeWeatherRepository.findByCountryCodeAndCityName(countryCode, cityName);
+
+            if (realtimeWeather != null) {
+                locationCodeIndex.put(realtimeWeather.getLocation(), indexGeneration);
+            }
+        }
 
         if (realtimeWeather == null) {
             throw new LocationNotFoundException(countryCode, cityName);
@@ -33,7 +72,7 @@ public class RealtimeWeatherService {
     }
 
     public RealtimeWeather getByLocationCode(String locationCode) {
-        RealtimeWeather realtimeWeather = realtimeWeatherRepository.findByLocationCode(locationCode);
+        RealtimeWeather realtimeWeather = findByLocationCode(locationCode);
 
         if (realtimeWeather == null) {
             throw new LocationNotFoundException(locationCode);
@@ -42,6 +81,27 @@ public class RealtimeWeatherService {
         return realtimeWeather;
     }
 
+    /**
+     * Read-through lookup. The version is read before the row, so a row loaded
+     * before a concurrent update commits is cached under the old version and
+     * never served once the update has bumped it.
+     */
+    private RealtimeWeather findByLocationCode(String locationCode) {
+        RealtimeWeather realtimeWeather = realtimeWeatherCache.get(locationCode);
+
+        if (realtimeWeather == null) {
+            long version = versionRegistry.getVersion(locationCode);
+            realtimeWeather = realtimeWeatherRepository.findByLocationCode(locationCode);
+
+            if (realtimeWeather != null) {
+                realtimeWeatherCache.put(realtimeWeather, version);
+            }
+        }
+
+        return realtimeWeather;
+    }
+
+    @Transactional
     public RealtimeWeather update(String locationCode, RealtimeWeather realtimeWeather) {
         Location location = locationRepository.findByCode(locationCode);
 
@@ -52,14 +112,71 @@ public class RealtimeWeatherService {
         realtimeWeather.setLocation(location);
         realtimeWeather.setLastUpdated(new Date());
 
+        RealtimeWeather updatedRealtimeWeather;
+
         if (location.getRealtimeWeather() == null) {
             location.setRealtimeWeather(realtimeWeather);
             Location updatedLocation = locationRepository.save(location);
 
-            return updatedLocation.getRealtimeWeather();
+            updatedRealtimeWeather = updatedLocation.getRealtimeWeather();
+        } else {
+            updatedRealtimeWeather = realtimeWeatherRepository.save(realtimeWeather);
         }
 
-        return realtimeWeatherRepository.save(realtimeWeather);
+        // the cache entry is evicted after commit; the next read loads the new row
+        eventPublisher.publishEvent(new LocationDataChangedEvent(locationCode));
+
+        return updatedRealtimeWeather;
+    }
+
+    /**
+     * Upserts the given observations in one transaction. All locations are loaded
+     * with a single query; new rows are cascaded from their location and existing
+     * ones are updated through dirty checking, so Hibernate can batch both.
+     * Returns the status of each observation, in input order.
+     */
+    @Transactional
+    public List<HttpStatus> updateAll(List<RealtimeWeather> observations) {
+        Set<String> codes = observations.stream()
+                .map(RealtimeWeather::getLocationCode)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<String, Location> locations = locationRepository.findWithRealtimeWeatherByCodeIn(codes).stream()
+                .collect(Collectors.toMap(Location::getCode, Function.identity()));
+
+        Date lastUpdated = new Date();
+        List<HttpStatus> statuses = new ArrayList<>(observations.size());
+
+        for (RealtimeWeather observation : observations) {
+            Location location = locations.get(observation.getLocationCode());
+
+            if (location == null) {
+                statuses.add(HttpStatus.NOT_FOUND);
+                continue;
+            }
+
+            RealtimeWeather realtimeWeather = location.getRealtimeWeather();
+
+            if (realtimeWeather == null) {
+                realtimeWeather = new RealtimeWeather();
+                realtimeWeather.setLocation(location);
+                location.setRealtimeWeather(realtimeWeather);
+                statuses.add(HttpStatus.CREATED);
+            } else {
+                statuses.add(HttpStatus.OK);
+            }
+
+            realtimeWeather.setTemperature(observation.getTemperature());
+            realtimeWeather.setHumidity(observation.getHumidity());
+            realtimeWeather.setPrecipitation(observation.getPrecipitation());
+            realtimeWeather.setWindSpeed(observation.getWindSpeed());
+            realtimeWeather.setStatus(observation.getStatus());
+            realtimeWeather.setLastUpdated(lastUpdated);
+        }
+
+        locations.keySet().forEach(code -> eventPublisher.publishEvent(new LocationDataChangedEvent(code)));
+
+        return statuses;
     }
 
 
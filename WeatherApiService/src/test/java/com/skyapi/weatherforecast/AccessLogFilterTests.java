@@ -0,0 +1,32 @@
+package com.skyapi.weatherforecast;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AccessLogFilterTests {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFailedRequestIsRecordedAsServerError() {
+        // disabled, so that no writer thread takes the entry off the queue; sample rate 0 keeps errors only
+        AccessLogFilter filter = new AccessLogFilter(false, 16, 0.0, Mockito.mock(ObjectProvider.class));
+        AccessLogWriter writer = filter.getWriter();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/realtime");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> filter.doFilterInternal(request, response, (req, res) -> {
+            throw new IllegalStateException("Database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(writer.getSampledOutCount()).isZero();
+        assertThat(writer.getQueueSize()).isEqualTo(1);
+    }
+}
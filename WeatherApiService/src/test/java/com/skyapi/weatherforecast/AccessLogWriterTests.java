@@ -0,0 +1,75 @@
+package com.skyapi.weatherforecast;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AccessLogWriterTests {
+
+    private static AccessLogWriter.Entry entry(int status) {
+        return new AccessLogWriter.Entry("GET", "/v1/realtime", status, 1500, "127.0.0.1");
+    }
+
+    @Test
+    public void testLogShouldDropAndCountWhenBufferIsFull() {
+        AccessLogWriter writer = new AccessLogWriter(2, 1.0);
+
+        assertThat(writer.log(entry(200))).isTrue();
+        assertThat(writer.log(entry(200))).isTrue();
+        assertThat(writer.log(entry(200))).isFalse();
+
+        assertThat(writer.getQueueSize()).isEqualTo(2);
+        assertThat(writer.getDroppedCount()).isEqualTo(1);
+
+        assertThat(writer.drain()).isEqualTo(2);
+        assertThat(writer.getWrittenCount()).isEqualTo(2);
+        assertThat(writer.log(entry(200))).isTrue();
+    }
+
+    @Test
+    public void testLogShouldSampleSuccessfulRequestsOnly() {
+        AccessLogWriter writer = new AccessLogWriter(100, 0.0);
+
+        assertThat(writer.log(entry(200))).isFalse();
+        assertThat(writer.log(entry(304))).isFalse();
+        assertThat(writer.log(entry(404))).isTrue();
+        assertThat(writer.log(entry(500))).isTrue();
+
+        assertThat(writer.getSampledOutCount()).isEqualTo(2);
+        assertThat(writer.getQueueSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void testIsSampledShouldCountSampledOutRequests() {
+        AccessLogWriter writer = new AccessLogWriter(100, 0.0);
+
+        assertThat(writer.isSampled(200)).isFalse();
+        assertThat(writer.isSampled(503)).isTrue();
+        assertThat(writer.offer(entry(503))).isTrue();
+
+        assertThat(writer.getSampledOutCount()).isEqualTo(1);
+        assertThat(writer.getQueueSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStopShouldWriteRemainingEntries() throws InterruptedException {
+        AccessLogWriter writer = new AccessLogWriter(100, 1.0);
+        writer.start();
+
+        for (int i = 0; i < 10; i++) {
+            writer.log(entry(200));
+        }
+
+        writer.stop();
+
+        assertThat(writer.getQueueSize()).isZero();
+        assertThat(writer.getWrittenCount()).isEqualTo(10);
+    }
+
+    @Test
+    public void testInvalidSampleRateShouldBeRejected() {
+        assertThatThrownBy(() -> new AccessLogWriter(100, 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,29 @@
+package com.skyapi.weatherforecast;
+
+import com.skyapi.weatherforecast.common.HourlyWeather;
+import com.skyapi.weatherforecast.common.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContentETagsTests {
+
+    @Test
+    public void testHourlyETagDependsOnDataOnly() {
+        String eTag = ContentETags.hourly(createHourlyForecast(20));
+
+        // separately loaded copies of the same rows, e.g. on another instance
+        assertThat(ContentETags.hourly(createHourlyForecast(20))).isEqualTo(eTag).startsWith("W/\"");
+        assertThat(ContentETags.hourly(createHourlyForecast(21))).isNotEqualTo(eTag);
+    }
+
+    private List<HourlyWeather> createHourlyForecast(int temperature) {
+        Location location = new Location("DELHI_IN", "New Delhi", "Delhi", "India", "IN");
+
+        return List.of(
+                new HourlyWeather().id(location, 10).temperature(temperature).precipitation(60).status("Sunny"),
+                new HourlyWeather().id(location, 11).temperature(temperature).precipitation(60).status("Sunny"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.skyapi.weatherforecast;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HikariPoolSizerTests {
+
+    @Test
+    public void testPoolSizeShouldFollowCoreCount() {
+        HikariPoolSizer sizer = new HikariPoolSizer(2, 1);
+
+        assertThat(sizer.getPoolSize(1)).isEqualTo(3);
+        assertThat(sizer.getPoolSize(8)).isEqualTo(17);
+    }
+
+    @Test
+    public void testPostProcessShouldResizeHikariDataSource() {
+        HikariPoolSizer sizer = new HikariPoolSizer(2, 1);
+        HikariDataSource dataSource = new HikariDataSource();
+
+        sizer.postProcessAfterInitialization(dataSource, "dataSource");
+
+        int expected = sizer.getPoolSize(Runtime.getRuntime().availableProcessors());
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(expected);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(expected);
+    }
+
+    @Test
+    public void testPostProcessShouldLeavePoolAloneWhenDisabled() {
+        HikariPoolSizer sizer = new HikariPoolSizer(0, 1);
+        HikariDataSource dataSource = new HikariDataSource();
+        int defaultSize = dataSource.getMaximumPoolSize();
+
+        sizer.postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(defaultSize);
+    }
+}
@@ -5,6 +5,9 @@ import com.ip2location.IPResult;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -53,6 +56,46 @@ public class IP2LocationTests {
         System.out.println(ipResult);
     }
 
+    @Test
+    public void testRangeIndexMatchesIPQuery() throws IOException {
+        IP2Location ip2Locator = new IP2Location();
+        ip2Locator.Open(DBPath);
+
+        IPv4RangeIndex rangeIndex = IPv4RangeIndex.load(ByteBuffer.wrap(Files.readAllBytes(Path.of(DBPath))));
+
+        for (String ipAddress : new String[] {"108.30.178.78", "103.48.198.141", "8.8.8.8", "255.255.255.255"}) {
+            IPResult ipResult = ip2Locator.IPQuery(ipAddress);
+            IPLocation location = rangeIndex.find(IPAddressKey.parseIPv4(ipAddress, 0, ipAddress.length()));
+
+            assertThat(location.cityName()).isEqualTo(ipResult.getCity());
+            assertThat(location.regionName()).isEqualTo(ipResult.getRegion());
+            assertThat(location.countryCode()).isEqualTo(ipResult.getCountryShort());
+            assertThat(location.countryName()).isEqualTo(ipResult.getCountryLong());
+        }
+
+        assertThat(rangeIndex.getLocationCount()).isPositive();
+        assertThat(rangeIndex.getRangeCount()).isGreaterThanOrEqualTo(rangeIndex.getLocationCount());
+    }
+
+    @Test
+    public void testOpenByteArrayVsMemoryMapped() throws IOException {
+        IP2Location byteArrayLocator = new IP2Location();
+        byteArrayLocator.Open(Files.readAllBytes(Path.of(DBPath)));
+
+        IP2Location mappedLocator = new IP2Location();
+        mappedLocator.Open(DBPath, true);
+
+        for (String ipAddress : new String[] {"108.30.178.78", "103.48.198.141", "abc"}) {
+            IPResult byteArrayResult = byteArrayLocator.IPQuery(ipAddress);
+            IPResult mappedResult = mappedLocator.IPQuery(ipAddress);
+
+            assertThat(mappedResult.getStatus()).isEqualTo(byteArrayResult.getStatus());
+            assertThat(mappedResult.getCity()).isEqualTo(byteArrayResult.getCity());
+            assertThat(mappedResult.getRegion()).isEqualTo(byteArrayResult.getRegion());
+            assertThat(mappedResult.getCountryShort()).isEqualTo(byteArrayResult.getCountryShort());
+        }
+    }
+
 
 
 
@@ -0,0 +1,42 @@
+package com.skyapi.weatherforecast;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IPAddressKeyTests {
+
+    @Test
+    public void testParseIPv4() {
+        IPAddressKey key = IPAddressKey.parse("108.30.178.78");
+
+        assertThat(key).isNotNull();
+        assertThat(key.isIPv4()).isTrue();
+        assertThat(key.getLow() & 0xFFFFFFFFL).isEqualTo(0x6C1EB24EL);
+        assertThat(key).isEqualTo(IPAddressKey.parse("::ffff:108.30.178.78"));
+    }
+
+    @Test
+    public void testParseIPv6() {
+        IPAddressKey full = IPAddressKey.parse("2001:0db8:0000:0000:0000:0000:0000:0001");
+        IPAddressKey compressed = IPAddressKey.parse("2001:db8::1");
+
+        assertThat(compressed).isNotNull();
+        assertThat(compressed).isEqualTo(full);
+        assertThat(compressed.isIPv4()).isFalse();
+        assertThat(compressed.getHigh()).isEqualTo(0x20010DB800000000L);
+        assertThat(compressed.getLow()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testParseInvalidAddress() {
+        assertThat(IPAddressKey.parse("abc")).isNull();
+        assertThat(IPAddressKey.parse("")).isNull();
+        assertThat(IPAddressKey.parse("256.1.1.1")).isNull();
+        assertThat(IPAddressKey.parse("01.2.3.4")).isNull();
+        assertThat(IPAddressKey.parse("1.2.3")).isNull();
+        assertThat(IPAddressKey.parse("1.2.3.4, 5.6.7.8")).isNull();
+        assertThat(IPAddressKey.parse("1::2::3")).isNull();
+        assertThat(IPAddressKey.parse("fe80::1%eth0")).isNull();
+    }
+}
@@ -0,0 +1,44 @@
+package com.skyapi.weatherforecast;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IPv4LocationCacheTests {
+
+    @Test
+    public void testGetReturnsCachedLocation() {
+        IPv4LocationCache cache = new IPv4LocationCache(16, Duration.ofMinutes(1));
+        IPLocation location = new IPLocation("New Delhi", "Delhi", "India", "IN");
+        long ipv4 = IPAddressKey.parseIPv4("103.48.198.141", 0, 14);
+
+        cache.put(ipv4, location);
+
+        assertThat(cache.get(ipv4)).isSameAs(location);
+        assertThat(cache.get(ipv4 + 1)).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAddressSharingASlotReplacesTheEntry() {
+        IPv4LocationCache cache = new IPv4LocationCache(1, Duration.ZERO);
+        cache.put(1L, new IPLocation("New Delhi", "Delhi", "India", "IN"));
+        cache.put(2L, new IPLocation("Tampa", "Florida", "United States Of America", "US"));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L).cityName()).isEqualTo("Tampa");
+    }
+
+    @Test
+    public void testExpiredEntryIsNotReturned() throws InterruptedException {
+        IPv4LocationCache cache = new IPv4LocationCache(16, Duration.ofMillis(10));
+        cache.put(1L, new IPLocation("New Delhi", "Delhi", "India", "IN"));
+
+        Thread.sleep(30);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+}
@@ -0,0 +1,81 @@
+package com.skyapi.weatherforecast;
+
+import com.skyapi.weatherforecast.daily.DailyWeatherController;
+import com.skyapi.weatherforecast.full.FullWeatherController;
+import com.skyapi.weatherforecast.hourly.HourlyWeatherController;
+import com.skyapi.weatherforecast.location.LocationController;
+import com.skyapi.weatherforecast.realtime.RealtimeWeatherController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static com.skyapi.weatherforecast.LinkTemplates.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+public class LinkTemplatesTests {
+
+    @AfterEach
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private void setCurrentRequest(String scheme, String host, int port, String contextPath) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", contextPath + "/v1/locations");
+        request.setScheme(scheme);
+        request.setServerName(host);
+        request.setServerPort(port);
+        request.setContextPath(contextPath);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Test
+    public void testTemplatesAreReadFromMappings() {
+        assertThat(LOCATIONS).isEqualTo("/v1/locations");
+        assertThat(LOCATION_BY_CODE).isEqualTo("/v1/locations/{code}");
+        assertThat(REALTIME_BY_IP).isEqualTo("/v1/realtime");
+        assertThat(REALTIME_BY_CODE).isEqualTo("/v1/realtime/{locationCode}");
+        assertThat(HOURLY_BY_CODE).isEqualTo("/v1/hourly/{locationCode}");
+        assertThat(DAILY_BY_CODE).isEqualTo("/v1/daily/{locationCode}");
+        assertThat(FULL_BY_IP).isEqualTo("/v1/full");
+    }
+
+    @Test
+    public void testLinksMatchWebMvcLinkBuilder() {
+        setCurrentRequest("https", "api.example.com", 8443, "/weather");
+        String code = "NYC_USA";
+
+        assertThat(link(LOCATION_BY_CODE, code).getHref()).isEqualTo(
+                linkTo(methodOn(LocationController.class).getLocation(code)).toUri().toString());
+        assertThat(link(REALTIME_BY_CODE, code).getHref()).isEqualTo(
+                linkTo(methodOn(RealtimeWeatherController.class).getRealtimeWeatherByLocationCode(code)).toUri().toString());
+        assertThat(link(HOURLY_BY_CODE, code).getHref()).isEqualTo(
+                linkTo(methodOn(HourlyWeatherController.class).listHourlyForecastByLocationCode(code, null)).toUri().toString());
+        assertThat(link(DAILY_BY_CODE, code).getHref()).isEqualTo(
+                linkTo(methodOn(DailyWeatherController.class).listDailyForecastByLocationCode(code)).toUri().toString());
+        assertThat(link(FULL_BY_CODE, code).getHref()).isEqualTo(
+                linkTo(methodOn(FullWeatherController.class).getFullWeatherByLocationCode(code, null)).toUri().toString());
+        assertThat(link(HOURLY_BY_IP).getHref()).isEqualTo(
+                linkTo(methodOn(HourlyWeatherController.class).listHourlyForecastByIPAddress(null)).toUri().toString());
+    }
+
+    @Test
+    public void testUnexpandedTemplatesMatchWebMvcLinkBuilder() {
+        setCurrentRequest("http", "localhost", 80, "");
+
+        assertThat(getBaseUri() + LOCATION_BY_CODE).isEqualTo(
+                linkTo(methodOn(LocationController.class).getLocation(null)).toString());
+        assertThat(getBaseUri() + DAILY_BY_CODE).isEqualTo(
+                linkTo(methodOn(DailyWeatherController.class).listDailyForecastByLocationCode(null)).toString());
+    }
+
+    @Test
+    public void testExpandEncodesPathSegment() {
+        assertThat(expand("/v1/realtime/{locationCode}", "SAO PAULO/BR")).isEqualTo("/v1/realtime/SAO%20PAULO%2FBR");
+        assertThat(expand("/v1/realtime", "NYC_USA")).isEqualTo("/v1/realtime");
+    }
+}
@@ -0,0 +1,60 @@
+package com.skyapi.weatherforecast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrettyPrintFilterTests {
+    private static final String BODY = "{\"location\":\"New York City, United States of America\",\"temperature\":12}";
+
+    private final PrettyPrintFilter filter = new PrettyPrintFilter(new ObjectMapper());
+
+    private final FilterChain jsonChain = (request, response) -> {
+        response.setContentType("application/hal+json");
+        response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    public void testResponseIsCompactByDefault() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/realtime");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, jsonChain);
+
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    public void testResponseIsIndentedWhenPrettyRequested() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/realtime");
+        request.setParameter(PrettyPrintFilter.PRETTY_PARAMETER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, jsonChain);
+
+        String body = response.getContentAsString();
+        assertThat(body).contains("\n").contains("\"temperature\" : 12");
+        assertThat(new ObjectMapper().readTree(body)).isEqualTo(new ObjectMapper().readTree(BODY));
+        assertThat(response.getContentLength()).isEqualTo(body.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void testNDJSONIsNotReformatted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/locations/export");
+        request.setParameter(PrettyPrintFilter.PRETTY_PARAMETER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType("application/x-ndjson");
+            res.getOutputStream().write((BODY + "\n" + BODY + "\n").getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThat(response.getContentAsString()).isEqualTo(BODY + "\n" + BODY + "\n");
+    }
+}
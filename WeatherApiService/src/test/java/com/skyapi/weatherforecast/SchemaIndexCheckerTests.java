@@ -0,0 +1,34 @@
+package com.skyapi.weatherforecast;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaIndexChecker.class)
+public class SchemaIndexCheckerTests {
+
+    @Autowired
+    private SchemaIndexChecker schemaIndexChecker;
+
+    @Test
+    public void testDeclaredIndexesArePresent() throws Exception {
+        List<String> missingIndexes = schemaIndexChecker.findMissingIndexes();
+
+        missingIndexes.forEach(System.out::println);
+        assertThat(missingIndexes).isEmpty();
+    }
+
+    @Test
+    public void testParseColumnList() {
+        assertThat(SchemaIndexChecker.parseColumnList("Country_Code, city_name DESC,trashed"))
+                .containsExactly("country_code", "city_name", "trashed");
+    }
+}
@@ -0,0 +1,40 @@
+package com.skyapi.weatherforecast;
+
+import com.skyapi.weatherforecast.common.Location;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheEvictor.class)
+public class SecondLevelCacheEvictorTests {
+    private static final String LOCATION_CODE = "DELHI_IN";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCacheEvictor evictor;
+
+    @Test
+    public void testLocationIsCachedAndEvictedOnChange() {
+        entityManager.find(Location.class, LOCATION_CODE);
+        entityManager.clear();
+
+        assertThat(entityManagerFactory.getCache().contains(Location.class, LOCATION_CODE)).isTrue();
+
+        evictor.onLocationDataChanged(new LocationDataChangedEvent(LOCATION_CODE));
+
+        assertThat(entityManagerFactory.getCache().contains(Location.class, LOCATION_CODE)).isFalse();
+    }
+}
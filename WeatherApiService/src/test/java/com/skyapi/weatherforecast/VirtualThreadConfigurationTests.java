@@ -0,0 +1,32 @@
+package com.skyapi.weatherforecast;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VirtualThreadConfigurationTests {
+
+    @Test
+    public void testNewVirtualThreadExecutorDependsOnRuntimeVersion() throws Exception {
+        if (Runtime.version().feature() < 21) {
+            assertThatThrownBy(VirtualThreadConfiguration::newVirtualThreadExecutor)
+                    .isInstanceOf(IllegalStateException.class);
+            return;
+        }
+
+        ExecutorService executor = VirtualThreadConfiguration.newVirtualThreadExecutor();
+
+        try {
+            Future<Boolean> isVirtual = executor.submit(() ->
+                    (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+
+            assertThat(isVirtual.get()).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.skyapi.weatherforecast;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the shared components of the request path on virtual threads and fails if
+ * JFR reports a jdk.VirtualThreadPinned event. Only runs in the virtual-threads
+ * Maven profile, which builds for Java 21.
+ */
+@EnabledIfSystemProperty(named = "spring.threads.virtual.enabled", matches = "true")
+public class VirtualThreadPinningTests {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Test
+    public void testBlockingInsideSynchronizedIsReported() throws Exception {
+        Object monitor = new Object();
+
+        List<RecordedEvent> events = recordPinnedEvents(() -> {
+            synchronized (monitor) {
+                Thread.sleep(20);
+            }
+            return null;
+        }, 1);
+
+        assertThat(events).isNotEmpty();
+    }
+
+    @Test
+    public void testRequestPathComponentsDoNotPinCarrierThreads() throws Exception {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100, Duration.ofMinutes(1));
+        IPv4LocationCache ipv4Cache = new IPv4LocationCache(100, Duration.ofMinutes(1));
+        AccessLogWriter accessLogWriter = new AccessLogWriter(16, 1.0);
+        IPLocation location = new IPLocation("New Delhi", "Delhi", "India", "IN");
+
+        List<RecordedEvent> events = recordPinnedEvents(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                int key = ThreadLocalRandom.current().nextInt(1_000);
+
+                if (cache.get(key) == null) {
+                    cache.put(key, "value");
+                }
+                if (ipv4Cache.get(key) == null) {
+                    ipv4Cache.put(key, location);
+                }
+
+                accessLogWriter.log(new AccessLogWriter.Entry("GET", "/v1/realtime", 200, 1, "127.0.0.1"));
+
+                if (i % 100 == 0) {
+                    accessLogWriter.drain();
+                }
+            }
+            return null;
+        }, 1_000);
+
+        assertThat(events).as("virtual threads pinned to their carrier").isEmpty();
+    }
+
+    private static List<RecordedEvent> recordPinnedEvents(Callable<?> task, int taskCount) throws Exception {
+        List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        AtomicInteger flushes = new AtomicInteger();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, events::add);
+            recording.onFlush(flushes::incrementAndGet);
+            recording.startAsync();
+
+            ExecutorService executor = VirtualThreadConfiguration.newVirtualThreadExecutor();
+
+            try {
+                List<Future<?>> futures = new ArrayList<>(taskCount);
+
+                for (int i = 0; i < taskCount; i++) {
+                    futures.add(executor.submit(task));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            // events reach the stream on the flushes that follow the workload
+            int flushesAfterWorkload = flushes.get() + 2;
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+            while (flushes.get() < flushesAfterWorkload && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+        }
+
+        return events;
+    }
+}
@@ -3,8 +3,10 @@ package com.skyapi.weatherforecast.base;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -18,6 +20,9 @@ public class MainControllerTests {
     @Autowired
     private MockMvc mockMvc;
 
+    @SpyBean
+    private RootDocumentCache documentCache;
+
     @Test
     public void testBaseURI() throws Exception {
 
@@ -36,4 +41,33 @@ public class MainControllerTests {
                 .andExpect(jsonPath("$.full_weather_by_code_url", is("http://localhost/v1/full/{locationCode}")))
                 .andDo(print());
     }
+
+    @Test
+    public void testBaseURIShouldReturn304WhenETagMatches() throws Exception {
+        String eTag = mockMvc.perform(get(BASE_URI))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(eTag).startsWith("\"");
+
+        mockMvc.perform(get(BASE_URI).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
+    @Test
+    public void testBaseURIShouldBeRenderedPerHost() throws Exception {
+        mockMvc.perform(get(BASE_URI).header("Host", "api.example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locations_url", is("http://api.example.com/v1/locations")))
+                .andDo(print());
+
+        mockMvc.perform(get(BASE_URI))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locations_url", is("http://localhost/v1/locations")));
+
+        assertThat(documentCache.size()).isEqualTo(2);
+    }
 }
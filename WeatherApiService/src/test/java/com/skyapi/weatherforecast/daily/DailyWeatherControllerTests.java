@@ -3,6 +3,7 @@ package com.skyapi.weatherforecast.daily;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skyapi.weatherforecast.GeolocationException;
 import com.skyapi.weatherforecast.GeolocationService;
+import com.skyapi.weatherforecast.IPLocation;
 import com.skyapi.weatherforecast.common.DailyWeather;
 import com.skyapi.weatherforecast.common.Location;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
@@ -51,10 +52,10 @@ public class DailyWeatherControllerTests {
     }
     @Test
     public void testGetByIPShouldReturn404NotFound() throws Exception {
-        Location location = new Location().code("DELHI_IN");
+        IPLocation location = new IPLocation("New Delhi", "Delhi", "India", "IN");
         when(geolocationService.getLocation(Mockito.anyString())).thenReturn(location);
 
-        LocationNotFoundException ex = new LocationNotFoundException(location.getCode());
+        LocationNotFoundException ex = new LocationNotFoundException(location.countryCode(), location.cityName());
         when(dailyWeatherService.getByLocation(location)).thenThrow(ex);
 
         mockMvc.perform(get(END_POINT_PATH))
@@ -65,7 +66,7 @@ public class DailyWeatherControllerTests {
 
     @Test
     public void testGetByIPShouldReturn204NoContent() throws Exception {
-        Location location = new Location().code("DELHI_IN");
+        IPLocation location = new IPLocation("New Delhi", "Delhi", "India", "IN");
         when(geolocationService.getLocation(Mockito.anyString())).thenReturn(location);
 
         when(dailyWeatherService.getByLocation(location)).thenReturn(Collections.emptyList());
@@ -105,8 +106,10 @@ public class DailyWeatherControllerTests {
 
         List<DailyWeather> dailyForecast = List.of(forecast1, forecast2);
 
-        when(geolocationService.getLocation(Mockito.anyString())).thenReturn(location);
-        when(dailyWeatherService.getByLocation(location)).thenReturn(dailyForecast);
+        IPLocation locationFromIP = new IPLocation(location.getCityName(), location.getRegionName(),
+                location.getCountryName(), location.getCountryCode());
+        when(geolocationService.getLocation(Mockito.anyString())).thenReturn(locationFromIP);
+        when(dailyWeatherService.getByLocation(locationFromIP)).thenReturn(dailyForecast);
 
         String expectedLocation = location.toString();
 
@@ -0,0 +1,55 @@
+package com.skyapi.weatherforecast.daily;
+
+import com.skyapi.weatherforecast.ForecastDiff;
+import com.skyapi.weatherforecast.common.DailyWeather;
+import com.skyapi.weatherforecast.common.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DailyWeatherDiffTests {
+    private final Location location = new Location().code("DELHI_IN");
+
+    @Test
+    public void testComputeInsertsUpdatesAndDeletes() {
+        List<DailyWeather> existing = List.of(
+                daily(16, 7, 25, "Sunny"),
+                daily(17, 7, 26, "Sunny"),
+                daily(18, 7, 27, "Cloudy"));
+
+        List<DailyWeather> incoming = List.of(
+                daily(17, 7, 26, "Sunny"),
+                daily(18, 7, 28, "Cloudy"),
+                daily(19, 7, 29, "Rainy"));
+
+        ForecastDiff<DailyWeather> diff = DailyWeatherDiff.compute(existing, incoming);
+
+        assertThat(diff.getInserts()).containsExactly(incoming.get(2));
+        assertThat(diff.getUpdates()).containsExactly(existing.get(2));
+        assertThat(existing.get(2).getMaxTemp()).isEqualTo(28);
+        assertThat(diff.getDeleteCount()).isEqualTo(1);
+        assertThat(diff.isDeleted(existing.get(0))).isTrue();
+        assertThat(diff.getUnchangedCount()).isEqualTo(1);
+        assertThat(diff.getResult()).containsExactly(existing.get(1), existing.get(2), incoming.get(2));
+    }
+
+    @Test
+    public void testSameDayOfMonthInDifferentMonthsIsDistinct() {
+        List<DailyWeather> existing = List.of(daily(31, 7, 30, "Sunny"));
+        List<DailyWeather> incoming = List.of(daily(31, 7, 30, "Sunny"), daily(31, 8, 30, "Sunny"));
+
+        ForecastDiff<DailyWeather> diff = DailyWeatherDiff.compute(existing, incoming);
+
+        assertThat(diff.getInserts()).containsExactly(incoming.get(1));
+        assertThat(diff.getUnchangedCount()).isEqualTo(1);
+        assertThat(diff.getDeleteCount()).isZero();
+        assertThat(DailyWeatherDiff.compute(existing, existing).isEmpty()).isTrue();
+    }
+
+    private DailyWeather daily(int dayOfMonth, int month, int maxTemp, String status) {
+        return new DailyWeather().location(location).dayOfMonth(dayOfMonth).month(month)
+                .minTemp(20).maxTemp(maxTemp).precipitation(10).status(status);
+    }
+}
@@ -3,6 +3,9 @@ package com.skyapi.weatherforecast.full;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skyapi.weatherforecast.GeolocationException;
 import com.skyapi.weatherforecast.GeolocationService;
+import com.skyapi.weatherforecast.IPLocation;
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
+import com.skyapi.weatherforecast.LocationVersionRegistry;
 import com.skyapi.weatherforecast.common.DailyWeather;
 import com.skyapi.weatherforecast.common.HourlyWeather;
 import com.skyapi.weatherforecast.common.Location;
@@ -11,13 +14,16 @@ import com.skyapi.weatherforecast.daily.DailyWeatherDTO;
 import com.skyapi.weatherforecast.hourly.HourlyWeatherDTO;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
 import com.skyapi.weatherforecast.realtime.RealtimeWeatherDTO;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Date;
 import java.util.List;
@@ -25,7 +31,9 @@ import java.util.List;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,8 +52,18 @@ public class FullWeatherControllerTests {
     private FullWeatherService fullWeatherService;
     @MockBean
     private GeolocationService geolocationService;
+
+    @SpyBean
+    private LocationVersionRegistry versionRegistry;
     @SpyBean
     private FullWeatherModelAssembler modelAssembler;
+    @SpyBean
+    private FullWeatherResponseCache responseCache;
+
+    @BeforeEach
+    public void clearResponseCache() {
+        responseCache.clear();
+    }
 
     @Test
     public void testGetByIPShouldReturn400BadRequestBecauseGeolocationException() throws Exception {
@@ -61,11 +79,11 @@ public class FullWeatherControllerTests {
 
     @Test
     public void testGetByIPShouldReturn404NotFound() throws Exception {
-        Location location = new Location().code("DELHI_IN");
+        IPLocation location = new IPLocation("New Delhi", "Delhi", "India", "IN");
 
         when(geolocationService.getLocation(Mockito.anyString())).thenReturn(location);
 
-        LocationNotFoundException ex = new LocationNotFoundException(location.getCode());
+        LocationNotFoundException ex = new LocationNotFoundException(location.countryCode(), location.cityName());
         when(fullWeatherService.getByLocation(location)).thenThrow(ex);
 
         mockMvc.perform(get(END_POINT_PATH))
@@ -128,8 +146,10 @@ public class FullWeatherControllerTests {
         location.setListHourlyWeather(List.of(hourlyForecast1, hourlyForecast2));
 
 
-        when(geolocationService.getLocation(Mockito.anyString())).thenReturn(location);
-        when(fullWeatherService.getByLocation(location)).thenReturn(location);
+        IPLocation locationFromIP = new IPLocation(location.getCityName(), location.getRegionName(),
+                location.getCountryName(), location.getCountryCode());
+        when(geolocationService.getLocation(Mockito.anyString())).thenReturn(locationFromIP);
+        when(fullWeatherService.getByLocation(locationFromIP)).thenReturn(location);
 
         String expectedLocation = location.toString();
 
@@ -230,6 +250,152 @@ public class FullWeatherControllerTests {
                 .andDo(print());
     }
 
+    @Test
+    public void testGetByLocationCodeShouldReturn304NotModified() throws Exception {
+        String locationCode = "NYC_USA";
+        String requestURI = END_POINT_PATH + "/" + locationCode;
+
+        Location location = new Location();
+        location.setCode(locationCode);
+        location.setCityName("New York City");
+        location.setRegionName("New York");
+        location.setCountryCode("US");
+        location.setCountryName("United States Of America");
+
+        RealtimeWeather realtimeWeather = new RealtimeWeather();
+        realtimeWeather.setStatus("Cloudy");
+        realtimeWeather.setTemperature(12);
+        realtimeWeather.setLastUpdated(new Date());
+
+        location.setRealtimeWeather(realtimeWeather);
+        location.setListHourlyWeather(List.of());
+        location.setListDailyWeather(List.of());
+
+        when(fullWeatherService.get(locationCode)).thenReturn(location);
+
+        MvcResult result = mockMvc.perform(get(requestURI))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+
+        String etag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(requestURI).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andDo(print());
+
+        Mockito.verify(fullWeatherService, Mockito.times(1)).get(locationCode);
+    }
+
+    @Test
+    public void testGetByLocationCodeShouldNegotiatePlainJSONWithoutResponseCache() throws Exception {
+        String locationCode = "NYC_USA";
+        String requestURI = END_POINT_PATH + "/" + locationCode;
+
+        Location location = new Location();
+        location.setCode(locationCode);
+        location.setCityName("New York City");
+        location.setRegionName("New York");
+        location.setCountryCode("US");
+        location.setCountryName("United States Of America");
+        location.setListHourlyWeather(List.of());
+        location.setListDailyWeather(List.of());
+
+        when(fullWeatherService.get(locationCode)).thenReturn(location);
+
+        mockMvc.perform(get(requestURI).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.location", is(location.toString())))
+                .andDo(print());
+
+        mockMvc.perform(get(requestURI).accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isNotAcceptable())
+                .andDo(print());
+
+        Mockito.verify(responseCache, Mockito.never()).get(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    public void testGetByLocationCodeShouldNotCacheResponseLoadedBeforeUpdate() throws Exception {
+        String locationCode = "NYC_USA";
+        String requestURI = END_POINT_PATH + "/" + locationCode;
+
+        Location location = new Location();
+        location.setCode(locationCode);
+        location.setCityName("New York City");
+        location.setRegionName("New York");
+        location.setCountryCode("US");
+        location.setCountryName("United States Of America");
+        location.setListHourlyWeather(List.of());
+        location.setListDailyWeather(List.of());
+
+        // an update commits while the first request is loading
+        when(fullWeatherService.get(locationCode))
+                .thenAnswer(invocation -> {
+                    versionRegistry.onLocationDataChanged(new LocationDataChangedEvent(locationCode));
+                    return location;
+                })
+                .thenReturn(location);
+
+        mockMvc.perform(get(requestURI)).andExpect(status().isOk());
+        mockMvc.perform(get(requestURI)).andExpect(status().isOk());
+        mockMvc.perform(get(requestURI)).andExpect(status().isOk());
+
+        Mockito.verify(fullWeatherService, Mockito.times(2)).get(locationCode);
+    }
+
+    @Test
+    public void testGetBatchShouldReturn400BadRequestBecauseNoLocationCodes() throws Exception {
+        String requestURI = END_POINT_PATH + "/batch";
+
+        mockMvc.perform(post(requestURI).contentType(REQUEST_CONTENT_TYPE).content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.error", is("Location codes cannot be empty.")))
+                .andDo(print());
+    }
+
+    @Test
+    public void testGetBatchShouldReturn200OKWithNotFoundItems() throws Exception {
+        String requestURI = END_POINT_PATH + "/batch";
+
+        Location location = new Location();
+        location.setCode("NYC_USA");
+        location.setCityName("New York City");
+        location.setRegionName("New York");
+        location.setCountryCode("US");
+        location.setCountryName("United States Of America");
+
+        RealtimeWeather realtimeWeather = new RealtimeWeather();
+        realtimeWeather.setStatus("Cloudy");
+        realtimeWeather.setTemperature(12);
+        realtimeWeather.setLastUpdated(new Date());
+
+        location.setRealtimeWeather(realtimeWeather);
+        location.setListHourlyWeather(List.of());
+        location.setListDailyWeather(List.of());
+
+        when(fullWeatherService.getByCodes(List.of("NYC_USA", "ABC"))).thenReturn(List.of(location));
+
+        MvcResult result = mockMvc.perform(post(requestURI).contentType(REQUEST_CONTENT_TYPE)
+                        .content("[\"NYC_USA\", \"ABC\", \"NYC_USA\"]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(REQUEST_CONTENT_TYPE))
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].location_code", is("NYC_USA")))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].full_weather.location", is(location.toString())))
+                .andExpect(jsonPath("$[0].full_weather.realtime_weather.temperature", is(12)))
+                .andExpect(jsonPath("$[1].location_code", is("ABC")))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andDo(print());
+    }
+
     @Test
     public void testUpdateShouldReturn400BadRequestBecauseNoHourlyWeather() throws Exception {
         String locationCode = "NYC_USA";
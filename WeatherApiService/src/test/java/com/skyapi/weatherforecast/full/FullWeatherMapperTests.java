@@ -0,0 +1,86 @@
+package com.skyapi.weatherforecast.full;
+
+import com.skyapi.weatherforecast.common.DailyWeather;
+import com.skyapi.weatherforecast.common.HourlyWeather;
+import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.common.RealtimeWeather;
+import com.skyapi.weatherforecast.daily.DailyWeatherDTO;
+import com.skyapi.weatherforecast.hourly.HourlyWeatherDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FullWeatherMapperTests {
+
+    @Test
+    public void testToDTO() {
+        Location location = new Location("NYC_USA", "New York City", "New York", "United States of America", "US", true);
+
+        RealtimeWeather realtimeWeather = new RealtimeWeather();
+        realtimeWeather.setLocation(location);
+        realtimeWeather.setTemperature(12);
+        realtimeWeather.setHumidity(32);
+        realtimeWeather.setPrecipitation(88);
+        realtimeWeather.setWindSpeed(5);
+        realtimeWeather.setStatus("Cloudy");
+        realtimeWeather.setLastUpdated(new Date());
+        location.setRealtimeWeather(realtimeWeather);
+
+        location.setListHourlyWeather(List.of(
+                new HourlyWeather().location(location).hourOfDay(10).temperature(13).precipitation(70).status("Cloudy")));
+        location.setListDailyWeather(List.of(
+                new DailyWeather().location(location).dayOfMonth(16).month(7).minTemp(23).maxTemp(32)
+                        .precipitation(40).status("Sunny")));
+
+        FullWeatherDTO dto = FullWeatherMapper.toDTO(location);
+
+        assertThat(dto.getLocation()).isEqualTo("New York City, New York, United States of America");
+        assertThat(dto.getRealtimeWeather().getLocation()).isNull();
+        assertThat(dto.getRealtimeWeather().getTemperature()).isEqualTo(12);
+        assertThat(dto.getRealtimeWeather().getWindSpeed()).isEqualTo(5);
+        assertThat(dto.getRealtimeWeather().getLastUpdated()).isEqualTo(realtimeWeather.getLastUpdated());
+
+        HourlyWeatherDTO hourlyDTO = dto.getListHourlyWeather().get(0);
+        assertThat(hourlyDTO.getHourOfDay()).isEqualTo(10);
+        assertThat(hourlyDTO.getTemperature()).isEqualTo(13);
+        assertThat(hourlyDTO.getStatus()).isEqualTo("Cloudy");
+
+        DailyWeatherDTO dailyDTO = dto.getListDailyWeather().get(0);
+        assertThat(dailyDTO.getDayOfMonth()).isEqualTo(16);
+        assertThat(dailyDTO.getMonth()).isEqualTo(7);
+        assertThat(dailyDTO.getMaxTemp()).isEqualTo(32);
+    }
+
+    @Test
+    public void testToDTOWithoutRealtimeWeatherKeepsEmptyRealtimeDTO() {
+        Location location = new Location("NYC_USA", "New York City", null, "United States of America", "US", true);
+
+        FullWeatherDTO dto = FullWeatherMapper.toDTO(location);
+
+        assertThat(dto.getLocation()).isEqualTo("New York City, United States of America");
+        assertThat(dto.getRealtimeWeather().getStatus()).isNull();
+        assertThat(dto.getListHourlyWeather()).isEmpty();
+    }
+
+    @Test
+    public void testToEntity() {
+        FullWeatherDTO dto = new FullWeatherDTO();
+        dto.getRealtimeWeather().setTemperature(12);
+        dto.getRealtimeWeather().setStatus("Cloudy");
+        dto.setListHourlyWeather(List.of(new HourlyWeatherDTO().hourOfDay(10).temperature(13).status("Cloudy")));
+        dto.setListDailyWeather(List.of(new DailyWeatherDTO().dayOfMonth(16).month(7).minTemp(23).maxTemp(32)));
+
+        Location location = FullWeatherMapper.toEntity(dto);
+
+        assertThat(location.getRealtimeWeather().getTemperature()).isEqualTo(12);
+        assertThat(location.getRealtimeWeather().getLocation()).isNull();
+        assertThat(location.getListHourlyWeather().get(0).getId().getHourOfDay()).isEqualTo(10);
+        assertThat(location.getListHourlyWeather().get(0).getTemperature()).isEqualTo(13);
+        assertThat(location.getListDailyWeather().get(0).getId().getDayOfMonth()).isEqualTo(16);
+        assertThat(location.getListDailyWeather().get(0).getId().getMonth()).isEqualTo(7);
+        assertThat(location.getListDailyWeather().get(0).getMinTemp()).isEqualTo(23);
+    }
+}
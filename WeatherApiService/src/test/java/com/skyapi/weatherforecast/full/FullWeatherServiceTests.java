@@ -0,0 +1,41 @@
+package com.skyapi.weatherforecast.full;
+
+import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.location.LocationCodeIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({FullWeatherService.class, LocationCodeIndex.class})
+public class FullWeatherServiceTests {
+
+    @Autowired
+    private FullWeatherService fullWeatherService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testGetLoadsFullWeatherInTwoStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Location location = fullWeatherService.get("DELHI_IN");
+
+        assertThat(location.getRealtimeWeather()).isNotNull();
+        assertThat(location.getListHourlyWeather()).isNotEmpty();
+        assertThat(location.getListDailyWeather()).isNotEmpty();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
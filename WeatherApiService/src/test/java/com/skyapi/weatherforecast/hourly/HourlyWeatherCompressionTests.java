@@ -0,0 +1,68 @@
+package com.skyapi.weatherforecast.hourly;
+
+import com.skyapi.weatherforecast.common.HourlyWeather;
+import com.skyapi.weatherforecast.common.Location;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs against the embedded Tomcat, since MockMvc does not apply response compression.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class HourlyWeatherCompressionTests {
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private HourlyWeatherService hourlyWeatherService;
+
+    @Test
+    public void testLargeHourlyForecastShouldBeGzipped() throws Exception {
+        String locationCode = "NYC_USA";
+
+        Location location = new Location();
+        location.setCode(locationCode);
+        location.setCityName("New York City");
+        location.setRegionName("New York");
+        location.setCountryCode("US");
+        location.setCountryName("United States Of America");
+
+        List<HourlyWeather> hourlyForecast = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            hourlyForecast.add(new HourlyWeather().id(location, hour).temperature(13).precipitation(70).status("Cloudy"));
+        }
+
+        when(hourlyWeatherService.getByLocationCode(locationCode, 0)).thenReturn(hourlyForecast);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v1/hourly/" + locationCode))
+                .header("X-Current-Hour", "0")
+                .header("Accept-Encoding", "gzip")
+                .build();
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("ETag")).hasValueSatisfying(eTag -> assertThat(eTag).startsWith("W/"));
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes();
+
+        assertThat(body.length).isGreaterThan(1024);
+        assertThat(response.body().length).isLessThan(body.length);
+    }
+}
@@ -3,6 +3,7 @@ package com.skyapi.weatherforecast.hourly;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skyapi.weatherforecast.GeolocationException;
 import com.skyapi.weatherforecast.GeolocationService;
+import com.skyapi.weatherforecast.IPLocation;
 import com.skyapi.weatherforecast.common.HourlyWeather;
 import com.skyapi.weatherforecast.common.Location;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
@@ -63,7 +64,7 @@ public class HourlyWeatherControllerTests {
     public void testGetByIpShouldReturn204NoContent() throws Exception {
 
         int currentHour = 9;
-        Location location = new Location().code("DELHI_IN");
+        IPLocation location = new IPLocation("New Delhi", "Delhi", "India", "IN");
 
         when(geolocationService.getLocation(Mockito.anyString()))
                 .thenReturn(location);
@@ -102,10 +103,13 @@ public class HourlyWeatherControllerTests {
                 .precipitation(60)
                 .status("Sunny");
 
+        IPLocation locationFromIP = new IPLocation(location.getCityName(), location.getRegionName(),
+                location.getCountryName(), location.getCountryCode());
+
         when(geolocationService.getLocation(Mockito.anyString()))
-                .thenReturn(location);
+                .thenReturn(locationFromIP);
 
-        when(hourlyWeatherService.getByLocation(location, currentHour))
+        when(hourlyWeatherService.getByLocation(locationFromIP, currentHour))
                 .thenReturn(List.of(forecast1, forecast2));
 
         String expectedLocation = location.toString();
@@ -0,0 +1,49 @@
+package com.skyapi.weatherforecast.hourly;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.skyapi.weatherforecast.daily.DailyWeatherDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HourlyWeatherDTOSerializerTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+    @Test
+    public void testHourlyWeatherIsWrittenLikeBeanSerializer() throws Exception {
+        HourlyWeatherListDTO listDTO = new HourlyWeatherListDTO();
+        listDTO.setLocation("New York City, United States of America");
+        listDTO.addWeatherHourlyDTO(new HourlyWeatherDTO().hourOfDay(10).temperature(13).precipitation(70).status("Cloudy"));
+        listDTO.addWeatherHourlyDTO(new HourlyWeatherDTO().hourOfDay(11).temperature(15).precipitation(60));
+
+        String json = objectMapper.writeValueAsString(listDTO.getHourlyForecast());
+
+        assertThat(json).isEqualTo("["
+                + "{\"hour_of_day\":10,\"temperature\":13,\"precipitation\":70,\"status\":\"Cloudy\"},"
+                + "{\"hour_of_day\":11,\"temperature\":15,\"precipitation\":60,\"status\":null}]");
+
+        HourlyWeatherDTO readBack = objectMapper.readValue(json, HourlyWeatherDTO[].class)[0];
+        assertThat(readBack.getHourOfDay()).isEqualTo(10);
+        assertThat(readBack.getStatus()).isEqualTo("Cloudy");
+    }
+
+    @Test
+    public void testDailyWeatherIsWrittenLikeBeanSerializer() throws Exception {
+        DailyWeatherDTO dto = new DailyWeatherDTO().dayOfMonth(16).month(7).minTemp(23).maxTemp(32)
+                .precipitation(40).status("Sunny");
+
+        assertThat(objectMapper.writeValueAsString(dto)).isEqualTo(
+                "{\"day_of_month\":16,\"month\":7,\"min_temp\":23,\"max_temp\":32,\"precipitation\":40,\"status\":\"Sunny\"}");
+    }
+
+    @Test
+    public void testFieldNamesFollowTheMapperNamingStrategy() throws Exception {
+        HourlyWeatherDTO dto = new HourlyWeatherDTO().hourOfDay(10).temperature(13).precipitation(70).status("Cloudy");
+
+        assertThat(new ObjectMapper().writeValueAsString(dto)).isEqualTo(
+                "{\"hourOfDay\":10,\"temperature\":13,\"precipitation\":70,\"status\":\"Cloudy\"}");
+    }
+}
@@ -0,0 +1,66 @@
+package com.skyapi.weatherforecast.hourly;
+
+import com.skyapi.weatherforecast.ForecastDiff;
+import com.skyapi.weatherforecast.common.HourlyWeather;
+import com.skyapi.weatherforecast.common.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HourlyWeatherDiffTests {
+    private final Location location = new Location().code("DELHI_IN");
+
+    @Test
+    public void testComputeInsertsUpdatesAndDeletes() {
+        List<HourlyWeather> existing = List.of(
+                hourly(8, 20, "Sunny"),
+                hourly(9, 22, "Sunny"),
+                hourly(10, 25, "Cloudy"));
+
+        List<HourlyWeather> incoming = List.of(
+                hourly(9, 22, "Sunny"),
+                hourly(10, 26, "Cloudy"),
+                hourly(11, 27, "Rainy"));
+
+        ForecastDiff<HourlyWeather> diff = HourlyWeatherDiff.compute(existing, incoming);
+
+        assertThat(diff.getInserts()).extracting(hw -> hw.getId().getHourOfDay()).containsExactly(11);
+        assertThat(diff.getUpdates()).containsExactly(existing.get(2));
+        assertThat(existing.get(2).getTemperature()).isEqualTo(26);
+        assertThat(diff.getDeleteCount()).isEqualTo(1);
+        assertThat(diff.isDeleted(existing.get(0))).isTrue();
+        assertThat(diff.isDeleted(existing.get(1))).isFalse();
+        assertThat(diff.getUnchangedCount()).isEqualTo(1);
+        assertThat(diff.getResult()).containsExactly(existing.get(1), existing.get(2), incoming.get(2));
+    }
+
+    @Test
+    public void testFullDayReplacementCounts() {
+        List<HourlyWeather> existing = new ArrayList<>();
+        List<HourlyWeather> incoming = new ArrayList<>();
+
+        for (int hour = 0; hour < 24; hour++) {
+            existing.add(hourly(hour, 20, "Sunny"));
+            incoming.add(hourly(hour, hour % 4 == 0 ? 21 : 20, "Sunny"));
+        }
+
+        ForecastDiff<HourlyWeather> diff = HourlyWeatherDiff.compute(existing, incoming);
+
+        assertThat(diff.getInserts()).isEmpty();
+        assertThat(diff.getUpdates()).hasSize(6);
+        assertThat(diff.getDeleteCount()).isZero();
+        assertThat(diff.getUnchangedCount()).isEqualTo(18);
+
+        ForecastDiff<HourlyWeather> repeated = HourlyWeatherDiff.compute(existing, incoming);
+
+        assertThat(repeated.isEmpty()).isTrue();
+        assertThat(repeated.getUnchangedCount()).isEqualTo(24);
+    }
+
+    private HourlyWeather hourly(int hour, int temperature, String status) {
+        return new HourlyWeather().id(location, hour).temperature(temperature).precipitation(10).status(status);
+    }
+}
@@ -0,0 +1,78 @@
+package com.skyapi.weatherforecast.hourly;
+
+import com.skyapi.weatherforecast.common.HourlyWeather;
+import com.skyapi.weatherforecast.location.LocationCodeIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({HourlyWeatherService.class, LocationCodeIndex.class})
+public class HourlyWeatherServiceTests {
+
+    @Autowired
+    private HourlyWeatherService hourlyWeatherService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testFullDayReplacementStatementCounts() {
+        String locationCode = "DELHI_IN";
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        hourlyWeatherService.updateByLocationCode(locationCode, createFullDay(20));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        List<HourlyWeather> updated = hourlyWeatherService.updateByLocationCode(locationCode, createFullDay(21));
+        entityManager.flush();
+
+        assertThat(updated).hasSize(24);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(24);
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        long statementsWithChanges = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        statistics.clear();
+        hourlyWeatherService.updateByLocationCode(locationCode, createFullDay(21));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(statementsWithChanges);
+    }
+
+    private List<HourlyWeather> createFullDay(int temperature) {
+        List<HourlyWeather> listHourlyWeather = new ArrayList<>();
+
+        for (int hour = 0; hour < 24; hour++) {
+            listHourlyWeather.add(new HourlyWeather()
+                    .hourOfDay(hour)
+                    .temperature(temperature)
+                    .precipitation(40)
+                    .status("Cloudy"));
+        }
+
+        return listHourlyWeather;
+    }
+}
@@ -0,0 +1,46 @@
+package com.skyapi.weatherforecast.location;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FilterableLocationRepositoryImplTests {
+
+    private final FilterableLocationRepositoryImpl repository = new FilterableLocationRepositoryImpl(null);
+
+    @Test
+    public void testListQueryIsBuiltOncePerFilterKeysAndSort() {
+        Sort sort = Sort.by("countryCode").ascending().and(Sort.by("cityName").descending());
+
+        String jpql = repository.getListQuery(List.of("countryCode", "enabled"), sort);
+
+        assertThat(jpql).isEqualTo("SELECT new com.skyapi.weatherforecast.common.Location("
+                + "l.code, l.cityName, l.regionName, l.countryName, l.countryCode, l.enabled) FROM Location l"
+                + " WHERE l.trashed = false AND l.countryCode = :countryCode AND l.enabled = :enabled"
+                + " ORDER BY l.countryCode ASC, l.cityName DESC");
+
+        Sort sameSort = Sort.by("countryCode").ascending().and(Sort.by("cityName").descending());
+        assertThat(repository.getListQuery(List.of("countryCode", "enabled"), sameSort)).isSameAs(jpql);
+        assertThat(repository.getListQuery(List.of("countryCode"), sameSort)).isNotSameAs(jpql);
+    }
+
+    @Test
+    public void testCountQueryHasNoOrderBy() {
+        String jpql = repository.getCountQuery(List.of("regionName"));
+
+        assertThat(jpql).isEqualTo("SELECT COUNT(l) FROM Location l WHERE l.trashed = false AND l.regionName = :regionName");
+        assertThat(repository.getCountQuery(List.of("regionName"))).isSameAs(jpql);
+    }
+
+    @Test
+    public void testUnknownPropertyIsRejected() {
+        assertThatThrownBy(() -> repository.getListQuery(List.of(), Sort.by("code; DROP TABLE locations")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.getCountQuery(List.of("trashed")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
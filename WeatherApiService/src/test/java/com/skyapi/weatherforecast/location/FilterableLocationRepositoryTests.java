@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -168,4 +169,32 @@ public class FilterableLocationRepositoryTests {
         });
         content.forEach(System.out::println);
     }
+
+    @Test
+    public void testListWithFilterAfterSeeksPastLastValues() {
+        int pageSize = 5;
+        Sort sort = Sort.by("countryCode").ascending().and(Sort.by("code").ascending());
+
+        Pageable pageable = PageRequest.of(0, pageSize * 2, sort);
+        List<Location> expected = locationRepository.listWithFilter(pageable, Collections.emptyMap()).getContent();
+
+        Slice<Location> first = locationRepository.listWithFilterAfter(sort, Collections.emptyMap(), null, pageSize);
+        assertThat(first.getContent()).containsExactlyElementsOf(expected.subList(0, pageSize));
+        assertThat(first.hasNext()).isTrue();
+
+        Location last = first.getContent().get(pageSize - 1);
+        List<Object> lastValues = List.of(last.getCountryCode(), last.getCode());
+
+        Slice<Location> second = locationRepository.listWithFilterAfter(sort, Collections.emptyMap(), lastValues, pageSize);
+        assertThat(second.getContent()).containsExactlyElementsOf(
+                expected.subList(pageSize, Math.min(expected.size(), pageSize * 2)));
+    }
+
+    @Test
+    public void testEstimateUntrashedRows() {
+        long estimate = locationRepository.estimateUntrashedRows();
+
+        System.out.println("Estimated rows: " + estimate + ", counted: " + locationRepository.countWithFilter(Map.of()));
+        assertThat(estimate).isGreaterThanOrEqualTo(0);
+    }
 }
@@ -0,0 +1,69 @@
+package com.skyapi.weatherforecast.location;
+
+import com.skyapi.weatherforecast.common.Location;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class LocationCodeIndexTests {
+
+    @Test
+    public void testFindCodeIgnoresCase() {
+        LocationRepository locationRepository = Mockito.mock(LocationRepository.class);
+        when(locationRepository.findUntrashedCodes()).thenReturn(List.of(
+                new Location("NYC_USA", "New York City", "New York", "United States of America", "US")));
+
+        LocationCodeIndex index = new LocationCodeIndex(locationRepository);
+        index.refresh();
+
+        assertThat(index.findCode("US", "New York City")).isEqualTo("NYC_USA");
+        assertThat(index.findCode("us", "NEW YORK CITY")).isEqualTo("NYC_USA");
+        assertThat(index.findCode("US", "Boston")).isNull();
+    }
+
+    @Test
+    public void testLocationKeyChangedEventMovesKey() {
+        LocationCodeIndex index = new LocationCodeIndex(Mockito.mock(LocationRepository.class));
+
+        index.onLocationKeyChanged(new LocationKeyChangedEvent("NYC_USA", null, null, "US", "New York"));
+        assertThat(index.findCode("US", "New York")).isEqualTo("NYC_USA");
+
+        index.onLocationKeyChanged(new LocationKeyChangedEvent("NYC_USA", "US", "New York", "US", "New York City"));
+        assertThat(index.findCode("US", "New York")).isNull();
+        assertThat(index.findCode("US", "New York City")).isEqualTo("NYC_USA");
+
+        index.onLocationKeyChanged(new LocationKeyChangedEvent("NYC_USA", "us", "new york city", null, null));
+        assertThat(index.findCode("US", "New York City")).isNull();
+    }
+
+    @Test
+    public void testPutIsUndoneIfLocationWasTrashedAfterLoad() {
+        LocationCodeIndex index = new LocationCodeIndex(Mockito.mock(LocationRepository.class));
+        Location location = new Location("NYC_USA", "New York City", "New York", "United States of America", "US");
+
+        // a fallback lookup reads the generation and loads the row, then the location is trashed
+        long generation = index.getGeneration();
+        index.onLocationKeyChanged(new LocationKeyChangedEvent("NYC_USA", "US", "New York City", null, null));
+        index.put(location, generation);
+
+        assertThat(index.findCode("US", "New York City")).isNull();
+
+        index.put(location, index.getGeneration());
+        assertThat(index.findCode("US", "New York City")).isEqualTo("NYC_USA");
+    }
+
+    @Test
+    public void testTrashedLocationIsNotIndexed() {
+        LocationCodeIndex index = new LocationCodeIndex(Mockito.mock(LocationRepository.class));
+        Location location = new Location("NYC_USA", "New York City", "New York", "United States of America", "US");
+        location.setTrashed(true);
+
+        index.put(location, index.getGeneration());
+
+        assertThat(index.findCode("US", "New York City")).isNull();
+    }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.skyapi.weatherforecast.common.Location;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Disabled;
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -451,6 +453,99 @@ public class LocationControllerTests {
                 .andDo(print());
     }
 
+    @Test
+    public void testListByPageShouldFlagApproximateTotal() throws Exception {
+        List<Location> listLocations = new ArrayList<>();
+
+        for (int i = 1; i <= 5; i++) {
+            listLocations.add(new Location("CODE_" + i, "City " + i, "Region Name", "US", "Country Name"));
+        }
+
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("code"));
+        Page<Location> page = new LocationPage(listLocations, pageable, 1000, true);
+
+        Mockito.when(locationService.listByPage(anyInt(), anyInt(), anyString(), anyMap())).thenReturn(page);
+
+        mockMvc.perform(get(END_POINT_PATH + "?page=1&size=5&sort=code"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(LocationController.TOTAL_COUNT_APPROXIMATE_HEADER, "true"))
+                .andExpect(jsonPath("$.page.total_elements", is(1000)))
+                .andDo(print());
+    }
+
+    @Test
+    public void testListByCursorShouldReturnNextLink() throws Exception {
+        Location location1 = new Location("LACA_USA", "Los Angeles", "California", "US", "United States of America");
+        Location location2 = new Location("NYC_USA", "New York City", "New York", "US", "United States of America");
+
+        int pageSize = 5;
+        Sort sort = Sort.by("code").ascending();
+        Slice<Location> slice = new SliceImpl<>(List.of(location1, location2), PageRequest.of(0, pageSize, sort), true);
+
+        Mockito.when(locationService.listByCursor(anyInt(), anyString(), anyMap(), isNull())).thenReturn(slice);
+
+        String nextCursor = LocationCursor.after("code", sort, location2).encode();
+        String requestURI = END_POINT_PATH + "?size=" + pageSize + "&sort=code&cursor=";
+
+        mockMvc.perform(get(requestURI))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(RESPONSE_CONTENT_TYPE))
+                .andExpect(jsonPath("$._embedded.locations[0].code", is("LACA_USA")))
+                .andExpect(jsonPath("$._embedded.locations[1].code", is("NYC_USA")))
+                .andExpect(jsonPath("$.page").doesNotExist())
+                .andExpect(jsonPath("$._links.next.href", containsString("cursor=" + nextCursor)))
+                .andExpect(jsonPath("$._links.last").doesNotExist())
+                .andDo(print());
+
+        assertThat(LocationCursor.decode(nextCursor).getValues()).containsExactly("NYC_USA");
+    }
+
+    @Test
+    public void testListByCursorShouldFollowNextLinkWithSnakeCaseSort() throws Exception {
+        Location location1 = new Location("LACA_USA", "Los Angeles", "California", "US", "United States of America");
+        Location location2 = new Location("NYC_USA", "New York City", "New York", "US", "United States of America");
+        Location location3 = new Location("SFCA_USA", "San Francisco", "California", "US", "United States of America");
+
+        int pageSize = 5;
+        Sort sort = Sort.by("cityName").ascending().and(Sort.by("code").ascending());
+
+        Mockito.when(locationService.listByCursor(anyInt(), eq("cityName"), anyMap(), isNull()))
+                .thenReturn(new SliceImpl<>(List.of(location1, location2), PageRequest.of(0, pageSize, sort), true));
+        Mockito.when(locationService.listByCursor(anyInt(), eq("cityName"), anyMap(), eq(List.of("New York City", "NYC_USA"))))
+                .thenReturn(new SliceImpl<>(List.of(location3), PageRequest.of(0, pageSize, sort), false));
+
+        MvcResult firstPage = mockMvc.perform(get(END_POINT_PATH + "?size=" + pageSize + "&sort=city_name&cursor="))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.self.href", containsString("sort=city_name")))
+                .andExpect(jsonPath("$._links.next.href", containsString("sort=city_name")))
+                .andReturn();
+
+        String nextHref = JsonPath.read(firstPage.getResponse().getContentAsString(),
+                "$._links.next.href");
+
+        mockMvc.perform(get(nextHref.replace("http://localhost", "")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.locations[0].code", is("SFCA_USA")))
+                .andExpect(jsonPath("$._links.next").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    public void testListByCursorShouldReturn400BadRequestInvalidCursor() throws Exception {
+        String cursorForOtherSort = LocationCursor.after("cityName", Sort.by("cityName").and(Sort.by("code")),
+                new Location("NYC_USA", "New York City", "New York", "US", "United States of America")).encode();
+
+        mockMvc.perform(get(END_POINT_PATH + "?sort=code&cursor=" + cursorForOtherSort))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        mockMvc.perform(get(END_POINT_PATH + "?sort=code&cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        Mockito.verify(locationService, Mockito.never()).listByCursor(anyInt(), anyString(), anyMap(), any());
+    }
+
     @Test
     public void testGetShouldReturn405MethodNotAllowed() throws Exception {
         String requestURI = END_POINT_PATH + "/ABCD";
@@ -594,18 +689,31 @@ public class LocationControllerTests {
                 .andDo(print());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExportShouldReturnNDJSON() throws Exception {
+        String requestURI = END_POINT_PATH + "/export";
+
+        Mockito.doAnswer(invocation -> {
+            Consumer<Location> consumer = invocation.getArgument(0);
+            consumer.accept(new Location("NYC_USA", "New York City", "New York", "United States of America", "US", true));
+            consumer.accept(new Location("LACA_USA", "Los Angeles", null, "United States of America", "US", false));
+            return null;
+        }).when(locationService).exportUntrashed(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get(requestURI))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
+        String expectedBody = """
+                {"code":"NYC_USA","city_name":"New York City","region_name":"New York","country_code":"US","country_name":"United States of America","enabled":true}
+                {"code":"LACA_USA","city_name":"Los Angeles","country_code":"US","country_name":"United States of America","enabled":false}
+                """;
 
-
-
-
-
-
-
-
-
-
-
-
-
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(expectedBody))
+                .andDo(print());
+    }
 }
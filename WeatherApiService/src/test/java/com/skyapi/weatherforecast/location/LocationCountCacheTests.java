@@ -0,0 +1,44 @@
+package com.skyapi.weatherforecast.location;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocationCountCacheTests {
+
+    @Test
+    public void testGetTotalRowsCountsOncePerFilter() {
+        LocationCountCache cache = new LocationCountCache(10, 60);
+        AtomicInteger counterCalls = new AtomicInteger();
+
+        Map<String, Object> filterFields = new HashMap<>();
+        filterFields.put("countryCode", "US");
+        filterFields.put("enabled", true);
+
+        Map<String, Object> sameFilterFields = new LinkedHashMap<>();
+        sameFilterFields.put("enabled", true);
+        sameFilterFields.put("countryCode", "US");
+
+        assertThat(cache.getTotalRows(filterFields, () -> counterCalls.incrementAndGet() * 100L)).isEqualTo(100);
+        assertThat(cache.getTotalRows(sameFilterFields, () -> counterCalls.incrementAndGet() * 100L)).isEqualTo(100);
+        assertThat(cache.getTotalRows(Map.of(), () -> counterCalls.incrementAndGet() * 100L)).isEqualTo(200);
+        assertThat(counterCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testLocationListChangedEventClearsCache() {
+        LocationCountCache cache = new LocationCountCache(10, 60);
+        cache.getTotalRows(Map.of("countryCode", "US"), () -> 100L);
+        cache.getTotalRows(Map.of(), () -> 500L);
+
+        cache.onLocationListChanged(new LocationListChangedEvent("NYC_USA"));
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getTotalRows(Map.of(), () -> 501L)).isEqualTo(501);
+    }
+}
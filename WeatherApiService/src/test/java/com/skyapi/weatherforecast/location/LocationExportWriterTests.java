@@ -0,0 +1,35 @@
+package com.skyapi.weatherforecast.location;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.skyapi.weatherforecast.common.Location;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocationExportWriterTests {
+
+    @Test
+    public void testHeapStaysFlatWhileExportingMillionRows() throws Exception {
+        int rowCount = 1_000_000;
+        Runtime runtime = Runtime.getRuntime();
+
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        try (LocationExportWriter writer = new LocationExportWriter(new JsonFactory(), OutputStream.nullOutputStream())) {
+            for (int i = 0; i < rowCount; i++) {
+                writer.write(new Location("CODE_" + i, "City " + i, "Region", "Country", "CC", true));
+            }
+
+            assertThat(writer.getCount()).isEqualTo(rowCount);
+        }
+
+        System.gc();
+        long heapGrowthMB = (runtime.totalMemory() - runtime.freeMemory() - heapBefore) / (1024 * 1024);
+        System.out.println("Heap growth after exporting " + rowCount + " rows: " + heapGrowthMB + " MB");
+
+        assertThat(heapGrowthMB).isLessThan(16);
+    }
+}
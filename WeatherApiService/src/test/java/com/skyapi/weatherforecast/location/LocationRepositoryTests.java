@@ -198,6 +198,17 @@ public class LocationRepositoryTests {
 
     }
 
+    @Test
+    public void testFindUntrashedCodes() {
+        List<Location> locations = locationRepository.findUntrashedCodes();
+
+        assertThat(locations).isNotEmpty();
+        assertThat(locations).allSatisfy(location -> {
+            assertThat(location.getCode()).isNotNull();
+            assertThat(location.isTrashed()).isFalse();
+        });
+    }
+
     @Test
     public void testAddDailyWeatherData() {
         Location location = locationRepository.findById("DELHI_IN").get();
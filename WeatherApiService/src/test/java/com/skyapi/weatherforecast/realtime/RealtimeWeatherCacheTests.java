@@ -0,0 +1,72 @@
+package com.skyapi.weatherforecast.realtime;
+
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
+import com.skyapi.weatherforecast.LocationVersionRegistry;
+import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.common.RealtimeWeather;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RealtimeWeatherCacheTests {
+
+    @Test
+    public void testGetReturnsDetachedCopy() {
+        RealtimeWeatherCache cache = new RealtimeWeatherCache(10, 60, new SimpleMeterRegistry(),
+                new LocationVersionRegistry());
+        cache.put(createRealtimeWeather(), 0);
+
+        RealtimeWeather first = cache.get("NYC_USA");
+        RealtimeWeather second = cache.get("NYC_USA");
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.getLocationCode()).isEqualTo("NYC_USA");
+        assertThat(first.getTemperature()).isEqualTo(12);
+        assertThat(first.getStatus()).isEqualTo("Cloudy");
+        assertThat(first.getLocation().toString()).isEqualTo("New York City, New York, United States of America");
+    }
+
+    @Test
+    public void testLocationDataChangedEventEvictsEntry() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RealtimeWeatherCache cache = new RealtimeWeatherCache(10, 60, meterRegistry, new LocationVersionRegistry());
+        cache.put(createRealtimeWeather(), 0);
+        cache.get("NYC_USA");
+
+        cache.onLocationDataChanged(new LocationDataChangedEvent("NYC_USA"));
+
+        assertThat(cache.get("NYC_USA")).isNull();
+        assertThat(meterRegistry.get("realtime.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("realtime.cache.staleness").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetRejectsSnapshotOfOlderVersion() {
+        LocationVersionRegistry versionRegistry = new LocationVersionRegistry();
+        RealtimeWeatherCache cache = new RealtimeWeatherCache(10, 60, new SimpleMeterRegistry(), versionRegistry);
+
+        cache.put(createRealtimeWeather(), versionRegistry.getVersion("NYC_USA"));
+        versionRegistry.onLocationDataChanged(new LocationDataChangedEvent("NYC_USA"));
+
+        assertThat(cache.get("NYC_USA")).isNull();
+    }
+
+    private RealtimeWeather createRealtimeWeather() {
+        Location location = new Location("NYC_USA", "New York City", "New York",
+                "United States of America", "US");
+
+        RealtimeWeather realtimeWeather = new RealtimeWeather();
+        realtimeWeather.setLocation(location);
+        realtimeWeather.setTemperature(12);
+        realtimeWeather.setHumidity(32);
+        realtimeWeather.setPrecipitation(88);
+        realtimeWeather.setWindSpeed(5);
+        realtimeWeather.setStatus("Cloudy");
+        realtimeWeather.setLastUpdated(new Date());
+
+        return realtimeWeather;
+    }
+}
@@ -4,6 +4,7 @@ package com.skyapi.weatherforecast.realtime;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skyapi.weatherforecast.GeolocationException;
 import com.skyapi.weatherforecast.GeolocationService;
+import com.skyapi.weatherforecast.IPLocation;
 import com.skyapi.weatherforecast.common.Location;
 import com.skyapi.weatherforecast.common.RealtimeWeather;
 import com.skyapi.weatherforecast.location.LocationNotFoundException;
@@ -12,17 +13,24 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Date;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(RealtimeWeatherController.class)
+@WebMvcTest(value = RealtimeWeatherController.class,
+        properties = {"realtime.bulk.max-size=3", "realtime.bulk.chunk-size=2"})
 public class RealtimeWeatherControllerTests {
 
     private static final String END_POINT_PATH = "/v1/realtime";
@@ -53,10 +61,8 @@ public class RealtimeWeatherControllerTests {
 
     @Test
     public void testGetShouldReturnStatus404NotFound() throws Exception {
-        Location location = new Location();
-        location.setCountryCode("US");
-        location.setCityName("Tampa");
-        LocationNotFoundException ex = new LocationNotFoundException(location.getCountryCode(), location.getCityName());
+        IPLocation location = new IPLocation("Tampa", "Florida", "United States Of America", "US");
+        LocationNotFoundException ex = new LocationNotFoundException(location.countryCode(), location.cityName());
 
         Mockito.when(geolocationService.getLocation(Mockito.anyString()))
                 .thenReturn(location);
@@ -89,8 +95,10 @@ public class RealtimeWeatherControllerTests {
         realtimeWeather.setLocation(location);
         location.setRealtimeWeather(realtimeWeather);
 
-        Mockito.when(geolocationService.getLocation(Mockito.anyString())).thenReturn(location);
-        Mockito.when(realtimeWeatherService.getByLocation(location)).thenReturn(realtimeWeather);
+        IPLocation locationFromIP = new IPLocation(location.getCityName(), location.getRegionName(),
+                location.getCountryName(), location.getCountryCode());
+        Mockito.when(geolocationService.getLocation(Mockito.anyString())).thenReturn(locationFromIP);
+        Mockito.when(realtimeWeatherService.getByLocation(locationFromIP)).thenReturn(realtimeWeather);
 
         String expectedLocation = location.getCityName() + ", "
                 + location.getRegionName() + ", " + location.getCountryName();
@@ -161,6 +169,77 @@ public class RealtimeWeatherControllerTests {
                 .andDo(print());
     }
 
+    @Test
+    public void testGetByLocationCodeShouldReturnStatus304WhenETagMatches() throws Exception {
+        String locationCode = "LACA_USA";
+        String requestURI = END_POINT_PATH + "/" + locationCode;
+
+        Location location = new Location();
+        location.setCode(locationCode);
+        location.setCityName("Los Angeles");
+        location.setCountryCode("US");
+        location.setCountryName("United States Of America");
+        location.setRegionName("California");
+
+        RealtimeWeather realtimeWeather = new RealtimeWeather();
+        realtimeWeather.setLocationCode(locationCode);
+        realtimeWeather.setStatus("Cloudy");
+        realtimeWeather.setLastUpdated(new Date());
+        realtimeWeather.setLocation(location);
+
+        Mockito.when(realtimeWeatherService.getByLocationCode(locationCode)).thenReturn(realtimeWeather);
+
+        MvcResult firstResult = mockMvc.perform(get(requestURI))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+
+        String eTag = firstResult.getResponse().getHeader("ETag");
+        assertThat(eTag).startsWith("W/");
+
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get(requestURI).header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        // a client or proxy that dropped the weak prefix still matches
+        mockMvc.perform(get(requestURI).header("If-None-Match", eTag.substring(2)))
+                .andExpect(status().isNotModified());
+
+        // the ETag is computed from the loaded row, so every poll loads it (from the realtime cache in production)
+        Mockito.verify(realtimeWeatherService, Mockito.times(22)).getByLocationCode(locationCode);
+    }
+
+    @Test
+    public void testGetByLocationCodeShouldReturnStatus200AfterLocationDataChanged() throws Exception {
+        String locationCode = "LACA_USA";
+        String requestURI = END_POINT_PATH + "/" + locationCode;
+
+        Location location = new Location();
+        location.setCode(locationCode);
+        location.setCityName("Los Angeles");
+        location.setCountryCode("US");
+
+        RealtimeWeather realtimeWeather = new RealtimeWeather();
+        realtimeWeather.setLocationCode(locationCode);
+        realtimeWeather.setLastUpdated(new Date());
+        realtimeWeather.setLocation(location);
+
+        Mockito.when(realtimeWeatherService.getByLocationCode(locationCode)).thenReturn(realtimeWeather);
+
+        String eTag = mockMvc.perform(get(requestURI))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        realtimeWeather.setTemperature(realtimeWeather.getTemperature() + 1);
+
+        mockMvc.perform(get(requestURI).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
     @Test
     public void testUpdateShouldReturn400BadRequest() throws Exception {
         String locationCode = "ABC_DEF";
@@ -253,4 +332,77 @@ public class RealtimeWeatherControllerTests {
                 .andExpect(jsonPath("$._links.full_forecast.href", is("http://localhost/v1/full/" + locationCode)))
                 .andDo(print());
     }
+
+    @Test
+    public void testBulkIngestShouldReturn400BadRequestBecauseMalformedBody() throws Exception {
+        String requestURI = END_POINT_PATH + "/bulk";
+
+        mockMvc.perform(post(requestURI).contentType(REQUEST_CONTENT_TYPE).content("[{\"location_code\": "))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    public void testBulkIngestNDJSONShouldReturnPerItemStatus() throws Exception {
+        String requestURI = END_POINT_PATH + "/bulk";
+        String requestBody = """
+                {"location_code": "NYC_USA", "temperature": 12, "humidity": 32, "precipitation": 88, "wind_speed": 5, "status": "Cloudy"}
+                {"location_code": "ABC", "temperature": 20, "humidity": 40, "precipitation": 10, "wind_speed": 3, "status": "Sunny"}
+                {"location_code": "LACA_USA", "temperature": 120, "humidity": 40, "precipitation": 10, "wind_speed": 3, "status": "Sunny"}
+                """;
+
+        Mockito.when(realtimeWeatherService.updateAll(Mockito.anyList()))
+                .thenReturn(List.of(HttpStatus.OK, HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(post(requestURI).contentType("application/x-ndjson").content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.failed", is(2)))
+                .andExpect(jsonPath("$.items[0].status", is(200)))
+                .andExpect(jsonPath("$.items[1].location_code", is("ABC")))
+                .andExpect(jsonPath("$.items[1].status", is(404)))
+                .andExpect(jsonPath("$.items[2].status", is(400)))
+                .andDo(print());
+    }
+
+    @Test
+    public void testBulkIngestShouldReturn400BadRequestBecauseTooManyObservations() throws Exception {
+        String requestURI = END_POINT_PATH + "/bulk";
+        String requestBody = """
+                {"location_code": "NYC_USA", "temperature": 12, "humidity": 32, "precipitation": 88, "wind_speed": 5, "status": "Cloudy"}
+                {"location_code": "LACA_USA", "temperature": 20, "humidity": 40, "precipitation": 10, "wind_speed": 3, "status": "Sunny"}
+                {"location_code": "DELHI_IN", "temperature": 30, "humidity": 40, "precipitation": 10, "wind_speed": 3, "status": "Sunny"}
+                {"location_code": "MBMH_IN", "temperature": 31, "humidity": 80, "precipitation": 60, "wind_speed": 7, "status": "Rainy"}
+                """;
+
+        mockMvc.perform(post(requestURI).contentType("application/x-ndjson").content(requestBody))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        Mockito.verify(realtimeWeatherService, Mockito.never()).updateAll(Mockito.anyList());
+    }
+
+    @Test
+    public void testBulkIngestShouldUpdateInChunks() throws Exception {
+        String requestURI = END_POINT_PATH + "/bulk";
+        String requestBody = """
+                {"location_code": "NYC_USA", "temperature": 12, "humidity": 32, "precipitation": 88, "wind_speed": 5, "status": "Cloudy"}
+                {"location_code": "LACA_USA", "temperature": 20, "humidity": 40, "precipitation": 10, "wind_speed": 3, "status": "Sunny"}
+                {"location_code": "DELHI_IN", "temperature": 30, "humidity": 40, "precipitation": 10, "wind_speed": 3, "status": "Sunny"}
+                """;
+
+        Mockito.when(realtimeWeatherService.updateAll(Mockito.anyList()))
+                .thenReturn(List.of(HttpStatus.OK, HttpStatus.OK), List.of(HttpStatus.CREATED));
+
+        mockMvc.perform(post(requestURI).contentType("application/x-ndjson").content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.succeeded", is(3)))
+                .andExpect(jsonPath("$.items[2].location_code", is("DELHI_IN")))
+                .andExpect(jsonPath("$.items[2].status", is(201)))
+                .andDo(print());
+
+        Mockito.verify(realtimeWeatherService, Mockito.times(2)).updateAll(Mockito.anyList());
+    }
 }
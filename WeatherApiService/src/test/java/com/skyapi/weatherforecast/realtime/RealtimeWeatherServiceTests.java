@@ -0,0 +1,93 @@
+package com.skyapi.weatherforecast.realtime;
+
+import com.skyapi.weatherforecast.LocationDataChangedEvent;
+import com.skyapi.weatherforecast.LocationVersionRegistry;
+import com.skyapi.weatherforecast.common.Location;
+import com.skyapi.weatherforecast.common.RealtimeWeather;
+import com.skyapi.weatherforecast.location.LocationCodeIndex;
+import com.skyapi.weatherforecast.location.LocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class RealtimeWeatherServiceTests {
+    private static final String LOCATION_CODE = "NYC_USA";
+
+    private RealtimeWeatherRepository realtimeWeatherRepository;
+    private RealtimeWeatherCache realtimeWeatherCache;
+    private LocationVersionRegistry versionRegistry;
+    private RealtimeWeatherService realtimeWeatherService;
+
+    @BeforeEach
+    public void setUp() {
+        realtimeWeatherRepository = Mockito.mock(RealtimeWeatherRepository.class);
+        LocationRepository locationRepository = Mockito.mock(LocationRepository.class);
+        versionRegistry = new LocationVersionRegistry();
+        realtimeWeatherCache = new RealtimeWeatherCache(10, 300, new SimpleMeterRegistry(), versionRegistry);
+
+        realtimeWeatherService = new RealtimeWeatherService(realtimeWeatherRepository, locationRepository,
+                new LocationCodeIndex(locationRepository), realtimeWeatherCache,
+                Mockito.mock(ApplicationEventPublisher.class), versionRegistry);
+    }
+
+    @Test
+    public void testGetByLocationCodeShouldCacheLoadedRow() {
+        when(realtimeWeatherRepository.findByLocationCode(LOCATION_CODE)).thenReturn(createRealtimeWeather(12));
+
+        realtimeWeatherService.getByLocationCode(LOCATION_CODE);
+
+        assertThat(realtimeWeatherCache.get(LOCATION_CODE).getTemperature()).isEqualTo(12);
+    }
+
+    @Test
+    public void testGetByLocationCodeShouldNotCacheRowLoadedBeforeConcurrentUpdate() {
+        // an update commits while the old row is being loaded; the version is bumped, then the cache evicted
+        when(realtimeWeatherRepository.findByLocationCode(LOCATION_CODE)).thenAnswer(invocation -> {
+            RealtimeWeather oldRow = createRealtimeWeather(12);
+            versionRegistry.onLocationDataChanged(new LocationDataChangedEvent(LOCATION_CODE));
+            realtimeWeatherCache.onLocationDataChanged(new LocationDataChangedEvent(LOCATION_CODE));
+            return oldRow;
+        });
+
+        RealtimeWeather realtimeWeather = realtimeWeatherService.getByLocationCode(LOCATION_CODE);
+
+        assertThat(realtimeWeather.getTemperature()).isEqualTo(12);
+        assertThat(realtimeWeatherCache.get(LOCATION_CODE)).isNull();
+    }
+
+    @Test
+    public void testGetByLocationCodeShouldNotServeRowLoadedBeforeEvictThenBump() {
+        LocationDataChangedEvent event = new LocationDataChangedEvent(LOCATION_CODE);
+
+        // the after-commit listeners run the other way round: evict first, the old row is put, then the bump
+        when(realtimeWeatherRepository.findByLocationCode(LOCATION_CODE)).thenAnswer(invocation -> {
+            realtimeWeatherCache.onLocationDataChanged(event);
+            return createRealtimeWeather(12);
+        });
+
+        realtimeWeatherService.getByLocationCode(LOCATION_CODE);
+        versionRegistry.onLocationDataChanged(event);
+
+        assertThat(realtimeWeatherCache.get(LOCATION_CODE)).isNull();
+    }
+
+    private RealtimeWeather createRealtimeWeather(int temperature) {
+        Location location = new Location(LOCATION_CODE, "New York City", "New York",
+                "United States of America", "US");
+
+        RealtimeWeather realtimeWeather = new RealtimeWeather();
+        realtimeWeather.setLocation(location);
+        realtimeWeather.setTemperature(temperature);
+        realtimeWeather.setStatus("Cloudy");
+        realtimeWeather.setLastUpdated(new Date());
+
+        return realtimeWeather;
+    }
+}